@@ -0,0 +1,89 @@
+package hello.springmvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON / CBOR / Smile 비교 (HelloData)
+ *
+ * encode, decode : 컨버터가 쓰는 ObjectMapper 만 (직렬화 CPU 비용)
+ * requestBody    : POST /request-body-json-v5 (같은 포맷으로 읽고 씀)
+ * responseBody   : GET /response-body-json-v1 (Accept 로 포맷 선택)
+ * payload 크기는 setUp 에서 출력
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryContentBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private MockDispatcher dispatcher;
+    private ObjectMapper objectMapper;
+    private String mediaType;
+    private HelloData helloData;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        dispatcher = MockDispatcher.start();
+        Class<? extends AbstractJackson2HttpMessageConverter> converterType = switch (format) {
+            case "cbor" -> MappingJackson2CborHttpMessageConverter.class;
+            case "smile" -> MappingJackson2SmileHttpMessageConverter.class;
+            default -> MappingJackson2HttpMessageConverter.class;
+        };
+        AbstractJackson2HttpMessageConverter converter = dispatcher.getContext().getBean(converterType);
+        objectMapper = converter.getObjectMapper();
+        mediaType = converter.getSupportedMediaTypes().get(0).toString();
+
+        helloData = new HelloData();
+        helloData.setUsername("hello");
+        helloData.setAge(20);
+        payload = objectMapper.writeValueAsBytes(helloData);
+        System.out.println(format + " payload " + payload.length + " bytes");
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(helloData);
+    }
+
+    @Benchmark
+    public HelloData decode() throws Exception {
+        return objectMapper.readValue(payload, HelloData.class);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse requestBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/request-body-json-v5");
+        request.setContentType(mediaType);
+        request.addHeader("Accept", mediaType);
+        request.setContent(payload);
+        return dispatcher.perform(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse responseBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/response-body-json-v1");
+        request.addHeader("Accept", mediaType);
+        return dispatcher.perform(request);
+    }
+}
@@ -0,0 +1,109 @@
+package hello.springmvc;
+
+import com.sun.management.OperatingSystemMXBean;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 압축 전/후 (실제 톰캣, loopback)
+ *
+ * compression=off : 부트 기본 정적 리소스 핸들러, server.compression 끔
+ * compression=on  : 미리 만든 .gz 정적 리소스 + 톰캣 동적 응답 압축 (2KB 이상)
+ *
+ * staticIndex   : GET /index.html
+ * dynamicStream : GET /response-body-json-stream?count=200 (약 6KB NDJSON)
+ *
+ * 응답 바이트 (전송량), 요청당 프로세스 CPU 시간 (클라이언트 + 서버) 은 반복마다 출력
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    @Param({"off", "on"})
+    public String compression;
+
+    private final OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest staticIndex;
+    private HttpRequest dynamicStream;
+    private long operations;
+    private long bytes;
+    private long cpuStart;
+
+    @Setup
+    public void setUp() {
+        boolean on = compression.equals("on");
+        context = new SpringApplicationBuilder(SpringmvcApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--logging.level.hello.springmvc=warn",
+                "--hello.static.precompressed=" + on,
+                "--server.compression.enabled=" + on,
+                "--hello.warmup.enabled=false",
+                "--hello.admission.enabled=false");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        staticIndex = get(port, "/index.html");
+        dynamicStream = get(port, "/response-body-json-stream?count=200");
+    }
+
+    private static HttpRequest get(int port, String path) {
+        // HttpClient 는 압축을 풀지 않음 -> 받은 바이트 수 = 전송된 바디 크기
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        operations = 0;
+        bytes = 0;
+        cpuStart = os.getProcessCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() {
+        if (operations > 0) {
+            System.out.printf("%n%s: %d bytes/op, %.1f us cpu/op%n", compression, bytes / operations,
+                    (os.getProcessCpuTime() - cpuStart) / 1000.0 / operations);
+        }
+    }
+
+    @Benchmark
+    public byte[] staticIndex() throws Exception {
+        return send(staticIndex);
+    }
+
+    @Benchmark
+    public byte[] dynamicStream() throws Exception {
+        return send(dynamicStream);
+    }
+
+    private byte[] send(HttpRequest request) throws Exception {
+        byte[] body = client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+        operations++;
+        bytes += body.length;
+        return body;
+    }
+}
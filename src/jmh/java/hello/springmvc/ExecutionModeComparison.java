@@ -0,0 +1,142 @@
+package hello.springmvc;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스레드 모드별(platform / virtual) 처리량, p99 비교
+ *
+ * ./gradlew executionModeComparison
+ *
+ * - 모드마다 톰캣을 실제로 띄우고 (server.tomcat.threads.max=THREADS) 동시 요청 수를 스레드 수보다 크게 올려가며 측정
+ * - 클라이언트는 closed-loop: 동시성 수만큼의 워커가 응답을 받자마자 다음 요청
+ * - 동시성 단계마다 WARMUP 동안 버리고 MEASURE 동안 측정
+ * - virtual 모드는 JDK 21 이상에서만 실행 (아니면 건너뜀)
+ * - 스레드 모드 자체를 비교하려고 admission 필터는 끔 (켜 두면 동시성을 올린 단계는 503 을 재게 됨)
+ */
+public class ExecutionModeComparison {
+
+    private static final int THREADS = 50;
+    private static final int[] CONCURRENCY = {16, 50, 200, 800};
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+
+    private static final String[][] ENDPOINTS = {
+            {"GET", "/request-param-v2?username=hello&age=20", null},
+            {"POST", "/request-body-json-v3", "{\"username\":\"hello\", \"age\":20}"},
+            {"GET", "/response-view-v2", null},
+    };
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-8s %-40s %6s %12s %10s %10s%n", "mode", "endpoint", "conc", "req/s", "p50(ms)", "p99(ms)");
+        for (String mode : new String[]{"platform", "virtual"}) {
+            if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+                System.out.println("virtual   skipped: requires JDK 21+, running on " + Runtime.version());
+                continue;
+            }
+            try (ConfigurableApplicationContext context = start(mode)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                for (String[] endpoint : ENDPOINTS) {
+                    for (int concurrency : CONCURRENCY) {
+                        Result result = run(port, endpoint, concurrency);
+                        System.out.printf("%-8s %-40s %6d %12.0f %10.2f %10.2f%n", mode, endpoint[1], concurrency,
+                                result.throughput, result.p50Millis, result.p99Millis);
+                    }
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        return new SpringApplicationBuilder(SpringmvcApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--server.tomcat.threads.max=" + THREADS,
+                "--hello.execution.mode=" + mode,
+                "--hello.warmup.enabled=false",
+                "--hello.admission.enabled=false",
+                "--logging.level.root=warn",
+                "--logging.level.hello.springmvc=warn");
+    }
+
+    private static Result run(int port, String[] endpoint, int concurrency) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + endpoint[1]));
+        HttpRequest request = endpoint[2] == null
+                ? builder.GET().build()
+                : builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(endpoint[2])).build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASURE.toNanos();
+
+        List<long[]> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                try {
+                    while (true) {
+                        long begin = System.nanoTime();
+                        if (begin >= measureUntil) {
+                            break;
+                        }
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long end = System.nanoTime();
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        } else if (begin >= measureFrom && end <= measureUntil) {
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, count * 2);
+                            }
+                            samples[count++] = end - begin;
+                        }
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    long[] measured = Arrays.copyOf(samples, count);
+                    synchronized (latencies) {
+                        latencies.add(measured);
+                    }
+                    done.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        if (errors.get() > 0) {
+            System.out.println("  errors=" + errors.get());
+        }
+        return new Result(all.length / (double) MEASURE.toSeconds(), percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis) {
+    }
+}
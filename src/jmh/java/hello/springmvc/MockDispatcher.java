@@ -0,0 +1,74 @@
+package hello.springmvc;
+
+import jakarta.servlet.ServletException;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 DispatcherServlet
+ *
+ * - SpringmvcApplication 을 자동 설정 그대로 띄우되, 톰캣 대신 MockServletContext 위에 올린다.
+ *  - 메시지 컨버터, ArgumentResolver, 뷰 리졸버 등은 운영과 동일
+ * - 요청마다 실제 DispatcherServlet.service() 를 통과시킨다.
+ * - 핸들러 비용만 보기 위해 기본 로그 레벨은 warn, 회원 로그는 끔 (필요하면 properties 로 덮어쓰기)
+ */
+public class MockDispatcher implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final DispatcherServlet dispatcherServlet;
+
+    private MockDispatcher(ConfigurableApplicationContext context, DispatcherServlet dispatcherServlet) {
+        this.context = context;
+        this.dispatcherServlet = dispatcherServlet;
+    }
+
+    public static MockDispatcher start(String... properties) throws ServletException {
+        MockServletContext servletContext = new MockServletContext();
+
+        List<String> args = new ArrayList<>();
+        args.add("--logging.level.root=warn");
+        args.add("--logging.level.hello.springmvc=warn");
+        args.add("--hello.user-store.log.enabled=false");
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringmvcApplication.class)
+                .contextFactory(webApplicationType -> {
+                    AnnotationConfigServletWebApplicationContext webContext = new AnnotationConfigServletWebApplicationContext();
+                    webContext.setServletContext(servletContext);
+                    return webContext;
+                })
+                .run(args.toArray(String[]::new));
+
+        DispatcherServlet dispatcherServlet = context.getBean(DispatcherServlet.class);
+        dispatcherServlet.init(new MockServletConfig(servletContext));
+        return new MockDispatcher(context, dispatcherServlet);
+    }
+
+    public MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        dispatcherServlet.service(request, response);
+        return response;
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        dispatcherServlet.destroy();
+        context.close();
+    }
+}
@@ -0,0 +1,127 @@
+package hello.springmvc;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JVM 시작부터 첫 정상 응답 (200) 까지 걸린 시간 비교
+ *
+ * ./gradlew startupComparison [-PfastStartup]
+ *
+ * - 모드마다 RUNS 번씩 새 JVM 프로세스를 띄우고 프로세스 시작 직전부터 시간을 잼
+ * - 경로마다 (PATHS) 200 이 올 때까지 폴링, 앞 경로가 성공한 다음 뒤 경로 요청
+ *  -> /response-view-v1 은 /hello-basic 이후 첫 템플릿 렌더링까지 포함
+ * - standard  : 기본 설정 그대로
+ * - optimized : AppCDS 아카이브 + fast-startup 프로필 (지연 초기화) + (-PfastStartup 이면) Spring AOT
+ *
+ * 클래스패스, 아카이브 경로 등은 build.gradle 의 startupComparison 태스크가 시스템 프로퍼티로 넘김
+ */
+public class StartupTimeComparison {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final String[] PATHS = {"/hello-basic", "/response-view-v1"};
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    public static void main(String[] args) throws Exception {
+        String classpath = System.getProperty("startup.classpath");
+        String cdsArchive = System.getProperty("startup.cds-archive");
+        boolean aot = Boolean.getBoolean("startup.aot");
+
+        List<String> optimized = new ArrayList<>();
+        if (cdsArchive != null && new File(cdsArchive).exists()) {
+            optimized.add("-XX:SharedArchiveFile=" + cdsArchive);
+        }
+        if (aot) {
+            optimized.add("-Dspring.aot.enabled=true");
+        }
+
+        System.out.printf("%-10s %-20s %10s %10s %10s%n", "mode", "path", "min(ms)", "p50(ms)", "max(ms)");
+        report("standard", measure(classpath, List.of(), List.of()));
+        report("optimized", measure(classpath, optimized, List.of("--spring.profiles.active=fast-startup")));
+        System.out.println("optimized jvm options: " + optimized);
+    }
+
+    private static long[][] measure(String classpath, List<String> jvmOptions, List<String> appArgs) throws Exception {
+        long[][] millis = new long[PATHS.length][RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long[] result = startOnce(classpath, jvmOptions, appArgs);
+            for (int i = 0; i < PATHS.length; i++) {
+                millis[i][run] = result[i];
+            }
+        }
+        return millis;
+    }
+
+    private static long[] startOnce(String classpath, List<String> jvmOptions, List<String> appArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(SpringmvcApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--hello.warmup.enabled=false");
+        command.addAll(appArgs);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        long[] elapsed = new long[PATHS.length];
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            for (int i = 0; i < PATHS.length; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATHS[i])).build();
+                while (!ok(client, request)) {
+                    if (!process.isAlive()) {
+                        throw new IllegalStateException("application exited with " + process.exitValue() + ": " + command);
+                    }
+                    if (System.nanoTime() - start > TIMEOUT.toNanos()) {
+                        throw new IllegalStateException("no response from " + PATHS[i] + " within " + TIMEOUT);
+                    }
+                    Thread.sleep(5);
+                }
+                elapsed[i] = (System.nanoTime() - start) / 1_000_000;
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+        return elapsed;
+    }
+
+    private static boolean ok(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(String mode, long[][] millis) {
+        for (int i = 0; i < PATHS.length; i++) {
+            long[] sorted = millis[i].clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %-20s %10d %10d %10d%n", mode, PATHS[i],
+                    sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package hello.springmvc.basic.request;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /request-param-upload 본체: multipart 바디 32MB (약 190 만 줄, 1% 는 잘못된 age) 를 끝까지 검사
+ *
+ * upload   : 전체 (parallelism = CsvUploadProcessor 의 ForkJoinPool 스레드 수)
+ * readOnly : 요청 스레드가 순차로 하는 부분만 (multipart 경계 찾기 + 청크로 복사) -> 병렬화해도 줄지 않는 하한
+ * -> 코어 수까지는 upload 시간이 대략 readOnly + (parallelism 1 일 때 - readOnly) / 스레드 수
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class CsvUploadBenchmark {
+
+    private static final String CONTENT_TYPE = "multipart/form-data; boundary=bench";
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    private byte[] body;
+    private CsvUploadProcessor processor;
+
+    @Setup
+    public void setUp() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(33 << 20);
+        out.write("--bench\r\nContent-Disposition: form-data; name=\"file\"; filename=\"users.csv\"\r\n\r\nusername,age\n"
+                .getBytes(StandardCharsets.US_ASCII));
+        for (int i = 0; out.size() < 32 << 20; i++) {
+            String line = i % 100 == 0 ? "user" + i + ",x\n" : "user" + i + "," + i % 100 + "\n";
+            out.write(line.getBytes(StandardCharsets.US_ASCII));
+        }
+        out.write("\r\n--bench--\r\n".getBytes(StandardCharsets.US_ASCII));
+        body = out.toByteArray();
+        processor = new CsvUploadProcessor(parallelism, 1 << 20, 0, 1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.close();
+    }
+
+    @Benchmark
+    public UploadProgress upload() throws IOException {
+        MultipartFileStream file = MultipartFileStream.open(new ByteArrayInputStream(body), CONTENT_TYPE, "file");
+        return processor.process(file, new CsvUploadProcessor.Listener() {
+            @Override
+            public void onError(RowError error) {
+            }
+
+            @Override
+            public void onProgress(UploadProgress progress) {
+            }
+        });
+    }
+
+    @Benchmark
+    public long readOnly() throws IOException {
+        MultipartFileStream file = MultipartFileStream.open(new ByteArrayInputStream(body), CONTENT_TYPE, "file");
+        byte[] chunk = new byte[1 << 20];
+        long total = 0;
+        for (int n; (n = file.readNBytes(chunk, 0, chunk.length)) > 0; ) {
+            total += n;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,61 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.MockDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ModelAttribute HelloData 바인딩 비용
+ *
+ * generated=false : 기본 WebDataBinder (BeanWrapper, PropertyDescriptor, ConversionService)
+ * generated=true  : GeneratedBinder (MethodHandle setter, 직접 숫자 변환)
+ * badAge          : 타입 오류 -> 두 경우 모두 기본 바인더가 BindException (400)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelAttributeBenchmark {
+
+    @Param({"false", "true"})
+    public boolean generated;
+
+    private MockDispatcher dispatcher;
+
+    @Setup
+    public void setUp() throws Exception {
+        dispatcher = MockDispatcher.start("hello.binding.generated=" + generated);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v1ModelAttribute() throws Exception {
+        return dispatcher.perform(request("/model-attribute-v1", "20"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v2Implicit() throws Exception {
+        return dispatcher.perform(request("/model-attribute-v2", "20"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse badAge() throws Exception {
+        return dispatcher.perform(request("/model-attribute-v1", "abc"));
+    }
+
+    private static MockHttpServletRequest request(String uri, String age) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addParameter("username", "hello");
+        request.addParameter("age", age);
+        return request;
+    }
+}
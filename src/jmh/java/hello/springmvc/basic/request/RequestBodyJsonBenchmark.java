@@ -0,0 +1,91 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.MockDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestBodyJsonController 바인딩 방식별 비용 비교
+ *
+ * v1 : ServletInputStream -> StreamUtils.copyToString -> ObjectMapper.readValue
+ * v2 : @RequestBody String -> ObjectMapper.readValue
+ * v3 : @RequestBody HelloData
+ * v4 : HttpEntity<HelloData>
+ * v5 : @RequestBody HelloData + HelloData 응답
+ * v6 : InputStream -> 재사용 ObjectReader 스트리밍 바인딩 (v1, v2 대비 요청당 할당량 비교)
+ *
+ * usernameLength 로 요청 바디 크기를 바꿔가며 측정 (gc 프로파일러로 요청당 할당량 확인)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBodyJsonBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int usernameLength;
+
+    private MockDispatcher dispatcher;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        dispatcher = MockDispatcher.start();
+        body = ("{\"username\":\"" + "a".repeat(usernameLength) + "\", \"age\":20}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v1InputStream() throws Exception {
+        return post("/request-body-json-v1");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v2RequestBodyString() throws Exception {
+        return post("/request-body-json-v2");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v3RequestBodyObject() throws Exception {
+        return post("/request-body-json-v3");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v4HttpEntity() throws Exception {
+        return post("/request-body-json-v4");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v5RequestBodyObjectResponse() throws Exception {
+        return post("/request-body-json-v5");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v6Streaming() throws Exception {
+        return post("/request-body-json-v6");
+    }
+
+    private MockHttpServletResponse post(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.addHeader("Accept", MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body);
+        MockHttpServletResponse response = dispatcher.perform(request);
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException(uri + " -> " + response.getStatus());
+        }
+        return response;
+    }
+}
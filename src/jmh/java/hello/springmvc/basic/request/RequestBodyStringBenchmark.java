@@ -0,0 +1,78 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.MockDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestBodyStringController 바디 읽기 방식별 비용 비교
+ *
+ * v1 ~ v4 : StreamUtils.copyToString / StringHttpMessageConverter (요청마다 새 heap 버퍼 + String)
+ * v5      : 풀링된 direct 버퍼, 로그가 꺼져 있으면 문자열 변환 안 함
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBodyStringBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int bodyLength;
+
+    private MockDispatcher dispatcher;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        dispatcher = MockDispatcher.start();
+        body = "a".repeat(bodyLength).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v1InputStream() throws Exception {
+        return post("/request-body-string-v1");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v2InputStreamParameter() throws Exception {
+        return post("/request-body-string-v2");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v3HttpEntity() throws Exception {
+        return post("/request-body-string-v3");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v4RequestBody() throws Exception {
+        return post("/request-body-string-v4");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse v5PooledBody() throws Exception {
+        return post("/request-body-string-v5");
+    }
+
+    private MockHttpServletResponse post(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        request.setContent(body);
+        MockHttpServletResponse response = dispatcher.perform(request);
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException(uri + " -> " + response.getStatus());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.MockDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /headers 의 @RequestHeader MultiValueMap 비용
+ *
+ * lazyMap=false : 기본 리졸버, 요청마다 헤더 전체를 LinkedMultiValueMap 으로 복사
+ * lazyMap=true  : ServletHeaderMap 뷰 (로그가 꺼져 있으면 헤더를 한 번도 읽지 않음)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestHeaderBenchmark {
+
+    @Param({"false", "true"})
+    public boolean lazyMap;
+
+    @Param({"4", "32"})
+    public int headerCount;
+
+    private MockDispatcher dispatcher;
+
+    @Setup
+    public void setUp() throws Exception {
+        dispatcher = MockDispatcher.start("hello.request-header.lazy-map=" + lazyMap);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse headers() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/headers");
+        request.addHeader("host", "localhost");
+        for (int i = 1; i < headerCount; i++) {
+            request.addHeader("x-header-" + i, "value-" + i);
+        }
+        return dispatcher.perform(request);
+    }
+}
@@ -0,0 +1,54 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /mapping/users?minAge=20&maxAge=30 한 페이지 (100 명) 읽기
+ *
+ * users : 전체 회원 수 (age 는 0 ~ 99 고르게)
+ * depth : first = 첫 페이지, deep = 범위 끝 근처 페이지 (커서로 시작)
+ * -> 페이지 비용이 users, depth 와 상관없이 비슷해야 함
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AgeIndexBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000", "1000000"})
+    public int users;
+
+    @Param({"first", "deep"})
+    public String depth;
+
+    private UserStore store;
+    private AgeIndex.Key cursor;
+
+    @Setup
+    public void setUp() {
+        store = new UserStore(64, users);
+        for (int i = 0; i < users; i++) {
+            HelloData helloData = new HelloData();
+            helloData.setUsername("name" + i);
+            helloData.setAge(i % 100);
+            store.put("user" + i, helloData);
+        }
+        if (depth.equals("deep")) {
+            // age 30 의 처음부터 = 범위의 마지막 1/11 (1,000,000 명이면 약 900 페이지 뒤)
+            cursor = new AgeIndex.Key(30, new byte[0]);
+        }
+    }
+
+    @Benchmark
+    public AgeIndex.Key page(Blackhole blackhole) {
+        return store.forEachByAge(20, 30, cursor, PAGE_SIZE, (userId, helloData) -> blackhole.consume(helloData));
+    }
+}
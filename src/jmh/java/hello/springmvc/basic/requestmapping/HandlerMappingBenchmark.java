@@ -0,0 +1,79 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매핑 수에 따른 핸들러 조회 비용 (기본 RequestMappingHandlerMapping vs TrieRequestMappingHandlerMapping)
+ *
+ * - /route{i}/{userId}/orders/{orderId} 형태의 GET 매핑을 routes 개 등록
+ *   (MappingController 의 /mapping/users/{userId}/orders/{orderId} 와 같은 모양)
+ * - 가운데 있는 경로 하나를 조회
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandlerMappingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int routes;
+
+    @Param({"stock", "trie"})
+    public String mapping;
+
+    private RequestMappingHandlerMapping handlerMapping;
+    private String path;
+
+    public static class RouteHandler {
+        public String handle(@PathVariable String userId, @PathVariable Long orderId) {
+            return "ok";
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        handlerMapping = mapping.equals("trie") ? new TrieRequestMappingHandlerMapping() : new RequestMappingHandlerMapping();
+        handlerMapping.setPatternParser(new PathPatternParser());
+        StaticWebApplicationContext context = new StaticWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.refresh();
+        handlerMapping.setApplicationContext(context);
+        handlerMapping.afterPropertiesSet();
+
+        RouteHandler handler = new RouteHandler();
+        Method method = RouteHandler.class.getMethod("handle", String.class, Long.class);
+        for (int i = 0; i < routes; i++) {
+            RequestMappingInfo info = RequestMappingInfo.paths("/route" + i + "/{userId}/orders/{orderId}")
+                    .methods(RequestMethod.GET)
+                    .options(handlerMapping.getBuilderConfiguration())
+                    .build();
+            handlerMapping.registerMapping(info, handler, method);
+        }
+        path = "/route" + (routes / 2) + "/userA/orders/100";
+        if (lookup() == null) {
+            throw new IllegalStateException("no handler for " + path);
+        }
+    }
+
+    @Benchmark
+    public HandlerExecutionChain lookup() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        ServletRequestPathUtils.parseAndCache(request);
+        return handlerMapping.getHandler(request);
+    }
+}
@@ -0,0 +1,79 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 회원 쓰기 처리량: 내구성 수준별 (UserStore + UserLog, 임시 디렉터리)
+ *
+ * put         : 쓰기 스레드 1개
+ * putParallel : 쓰기 스레드 8개 (GROUP 은 동시에 기다리는 쓰기를 fsync 한 번으로 묶음)
+ * none        : 로그 없는 UserStore (상한 비교용)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserLogBenchmark {
+
+    @Param({"FSYNC", "GROUP", "ASYNC", "none"})
+    public String durability;
+
+    private Path directory;
+    private UserLog userLog;
+    private UserStore store;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (durability.equals("none")) {
+            store = new UserStore(64, 100_000);
+            return;
+        }
+        directory = Files.createTempDirectory("user-log");
+        userLog = new UserLog(directory, 64 * 1024 * 1024, UserLog.Durability.valueOf(durability));
+        store = new UserStore(64, 100_000, userLog);
+        userLog.recover(store::load);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (userLog == null) {
+            return;
+        }
+        userLog.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public HelloData put() {
+        return write();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public HelloData putParallel() {
+        return write();
+    }
+
+    private HelloData write() {
+        int n = ThreadLocalRandom.current().nextInt(100_000);
+        HelloData helloData = new HelloData();
+        helloData.setUsername("user" + n);
+        helloData.setAge(n % 100);
+        return store.put(String.valueOf(n), helloData);
+    }
+}
@@ -0,0 +1,129 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /mapping/users 저장소 동시 읽기/쓰기 (UserStore vs ConcurrentHashMap<String, HelloData>)
+ *
+ * read / readContended   : 무작위 회원 조회, 스레드 1개 / 모든 코어
+ * mixed / mixedContended : 조회 90% + 수정 10%, 스레드 1개 / 모든 코어
+ * 시작할 때 users 명을 넣기 전후 힙 사용량 차이로 회원당 바이트도 출력
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class UserStoreBenchmark {
+
+    @Param({"striped", "concurrentHashMap"})
+    public String store;
+
+    @Param({"1000000"})
+    public int users;
+
+    private Store target;
+    private String[] userIds;
+
+    @Setup
+    public void setUp() {
+        long before = usedHeap();
+        target = store.equals("striped") ? new Striped(new UserStore(64, users)) : new Chm(new ConcurrentHashMap<>(users));
+        for (int i = 0; i < users; i++) {
+            target.put("user" + i, helloData("name" + i, i % 100));
+        }
+        long after = usedHeap();
+        System.out.printf("%n%s: %d users, %.1f bytes/user%n", store, users, (after - before) / (double) users);
+
+        userIds = new String[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = "user" + i;
+        }
+    }
+
+    @Benchmark
+    public HelloData read() {
+        return target.get(randomUserId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public HelloData readContended() {
+        return target.get(randomUserId());
+    }
+
+    @Benchmark
+    public Object mixed() {
+        return mixedOperation();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object mixedContended() {
+        return mixedOperation();
+    }
+
+    private Object mixedOperation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String userId = randomUserId();
+        if (random.nextInt(10) == 0) {
+            return target.put(userId, helloData("name", random.nextInt(100)));
+        }
+        return target.get(userId);
+    }
+
+    private String randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(users)];
+    }
+
+    private static HelloData helloData(String username, int age) {
+        HelloData helloData = new HelloData();
+        helloData.setUsername(username);
+        helloData.setAge(age);
+        return helloData;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private interface Store {
+        HelloData get(String userId);
+
+        HelloData put(String userId, HelloData helloData);
+    }
+
+    private record Striped(UserStore store) implements Store {
+        @Override
+        public HelloData get(String userId) {
+            return store.get(userId);
+        }
+
+        @Override
+        public HelloData put(String userId, HelloData helloData) {
+            return store.put(userId, helloData);
+        }
+    }
+
+    private record Chm(ConcurrentHashMap<String, HelloData> map) implements Store {
+        @Override
+        public HelloData get(String userId) {
+            return map.get(userId);
+        }
+
+        @Override
+        public HelloData put(String userId, HelloData helloData) {
+            return map.put(userId, helloData);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package hello.springmvc.basic.response;
+
+import hello.springmvc.MockDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResponseBodyController JSON 응답 비용 (@CacheableResponse 캐시 켬 / 끔)
+ *
+ * jsonV1, jsonV2 : 캐시 끄면 매번 HelloData 생성 + Jackson 직렬화, 켜면 저장된 바이트 복사
+ * jsonV2NotModified : If-None-Match 가 맞는 재요청 (캐시 켜면 304, 바디 없음)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseBodyBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private MockDispatcher dispatcher;
+    private String etag;
+
+    @Setup
+    public void setUp() throws Exception {
+        dispatcher = MockDispatcher.start("hello.response-cache.enabled=" + cache);
+        etag = get("/response-body-json-v2", null).getHeader(HttpHeaders.ETAG);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse jsonV1() throws Exception {
+        return get("/response-body-json-v1", null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse jsonV2() throws Exception {
+        return get("/response-body-json-v2", null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse jsonV2NotModified() throws Exception {
+        return get("/response-body-json-v2", etag);
+    }
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return dispatcher.perform(request);
+    }
+}
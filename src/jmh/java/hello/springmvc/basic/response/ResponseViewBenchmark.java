@@ -0,0 +1,87 @@
+package hello.springmvc.basic.response;
+
+import hello.springmvc.MockDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResponseViewController 렌더링 비용
+ *
+ * firstRequest : 앱을 새로 띄운 직후 첫 요청 한 번 (hello.view.warmup 켬 / 끔)
+ * render       : 워밍업 이후 반복 요청 (hello.view-cache.enabled 켬 / 끔)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResponseViewBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Cold {
+
+        @Param({"false", "true"})
+        public boolean warmup;
+
+        MockDispatcher dispatcher;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws Exception {
+            dispatcher = MockDispatcher.start("hello.view.warmup=" + warmup);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            dispatcher.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Warm {
+
+        @Param({"false", "true"})
+        public boolean viewCache;
+
+        MockDispatcher dispatcher;
+
+        @Setup
+        public void setUp() throws Exception {
+            dispatcher = MockDispatcher.start("hello.view-cache.enabled=" + viewCache);
+        }
+
+        @TearDown
+        public void tearDown() {
+            dispatcher.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 10)
+    public MockHttpServletResponse firstRequest(Cold cold) throws Exception {
+        return get(cold.dispatcher, "/response-view-v1");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse renderV1(Warm warm) throws Exception {
+        return get(warm.dispatcher, "/response-view-v1");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse renderV2(Warm warm) throws Exception {
+        return get(warm.dispatcher, "/response-view-v2");
+    }
+
+    private static MockHttpServletResponse get(MockDispatcher dispatcher, String uri) throws Exception {
+        MockHttpServletResponse response = dispatcher.perform(new MockHttpServletRequest("GET", uri));
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException(uri + " -> " + response.getStatus());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,48 @@
+package hello.springmvc.latency;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지연 시간 기록 오버헤드 (요청당 1us 이하가 목표)
+ *
+ * record          : 히스토그램 기록 한 번 (스레드 1개)
+ * recordContended : 모든 코어가 같은 히스토그램에 동시에 기록
+ * filter          : LatencyFilter 전체 (nanoTime 두 번 + 핸들러 조회 + 기록), 뒤 체인은 빈 체인
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatencyHistogramBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LatencyFilter filter = new LatencyFilter(new LatencyRegistry());
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hello-basic");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain emptyChain = (request, response) -> {
+    };
+
+    @Benchmark
+    public void record() {
+        histogram.record(ThreadLocalRandom.current().nextLong(1_000, 10_000_000));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void recordContended() {
+        histogram.record(ThreadLocalRandom.current().nextLong(1_000, 10_000_000));
+    }
+
+    @Benchmark
+    public void filter() throws Exception {
+        filter.doFilter(request, response, emptyChain);
+    }
+}
@@ -0,0 +1,80 @@
+package hello.springmvc.logging;
+
+import hello.springmvc.MockDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 info/debug 로그를 남기는 핸들러의 처리량 (logback-file.xml 파일 로그, 8 스레드)
+ *
+ * mode
+ * - off     : hello.springmvc 로그 끔
+ * - on      : debug, 요청 스레드가 직접 파일에 씀 (기본 logback 설정)
+ * - sampled : on + 로거별 초당 100건 제한
+ * - async   : debug, RingBufferAppender 로 배치 쓰기
+ * - async-sampled : async + 초당 100건 제한
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+
+    @Param({"off", "on", "sampled", "async", "async-sampled"})
+    private String mode;
+
+    private MockDispatcher dispatcher;
+    private File logFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        logFile = File.createTempFile("request-logging", ".log");
+        List<String> properties = new ArrayList<>();
+        properties.add("logging.config=classpath:logback-file.xml");
+        properties.add("logging.file.name=" + logFile.getAbsolutePath());
+        properties.add("logging.level.hello.springmvc.basic=" + (mode.equals("off") ? "warn" : "debug"));
+        properties.add("hello.logging.async.enabled=" + mode.startsWith("async"));
+        if (mode.endsWith("sampled")) {
+            properties.add("hello.logging.sampling[hello.springmvc.basic]=100");
+        }
+        dispatcher = MockDispatcher.start(properties.toArray(String[]::new));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse logTest() throws Exception {
+        return dispatcher.perform(new MockHttpServletRequest("GET", "/log-test"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse requestParam() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/request-param-v2");
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20");
+        return dispatcher.perform(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse headers() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/headers");
+        request.addHeader("host", "localhost");
+        request.addHeader("accept", "text/html");
+        request.addHeader("accept-language", "ko-KR");
+        request.addHeader("myHeader", "hello");
+        return dispatcher.perform(request);
+    }
+}
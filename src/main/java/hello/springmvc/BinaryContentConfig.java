@@ -0,0 +1,34 @@
+package hello.springmvc;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 바이너리 JSON (CBOR, Smile) 메시지 컨버터
+ *
+ * - 클라이언트가 Content-Type / Accept 로 선택
+ *  - application/cbor
+ *  - application/x-jackson-smile
+ * - Accept 가 없거나 * / * 이면 기존처럼 JSON (기본 컨버터 목록에서 JSON 컨버터가 앞에 있음)
+ * - 스프링 부트가 설정한 Jackson2ObjectMapperBuilder (spring.jackson.*) 를 그대로 사용
+ *   (jackson-dataformat-cbor/smile 이 클래스패스에 있으면 스프링이 기본 ObjectMapper 로 컨버터를 추가하는데,
+ *    같은 타입을 빈으로 등록하면 부트의 HttpMessageConverters 가 그 자리에 대신 넣음)
+ */
+@Configuration
+public class BinaryContentConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,63 @@
+package hello.springmvc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 요청 처리 스레드 모드
+ *
+ * hello.execution.mode=platform (기본)
+ * - 톰캣 기본 스레드 풀 (server.tomcat.threads.max)
+ *
+ * hello.execution.mode=virtual
+ * - 톰캣 요청 처리를 요청마다 가상 스레드 하나로
+ * - applicationTaskExecutor (MVC 비동기 처리, @Async 등 컨트롤러 안의 블로킹 작업) 도 가상 스레드로
+ * - 가상 스레드는 JDK 21 부터라서 실행 JDK 가 21 미만이면 시작할 때 실패
+ *   (빌드는 17 기준이라 Executors.newVirtualThreadPerTaskExecutor 를 리플렉션으로 찾음)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "hello.execution.mode", havingValue = "virtual")
+public class ExecutionModeConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(
+                    Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            ExecutorService executor = (ExecutorService) factory.invoke();
+            log.info("request handling on virtual threads");
+            return executor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("hello.execution.mode=virtual requires JDK 21+, running on "
+                    + Runtime.version(), e);
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot create virtual thread executor", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /**
+     * 기본 applicationTaskExecutor (ThreadPoolTaskExecutor) 대신 사용
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
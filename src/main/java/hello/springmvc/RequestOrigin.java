@@ -0,0 +1,53 @@
+package hello.springmvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 요청이 어디서 왔는지
+ * - 로컬에서 왔는지 (통계 조회 같은 로컬 전용 엔드포인트)
+ * - 워밍업, 부하 테스트가 보낸 합성 요청인지 (SyntheticRequest 가 SYNTHETIC_HEADER 를 붙임)
+ *   -> 핸들러가 외부로 보이는 부수 효과 (변경 피드 발행 등) 를 건너뛸 수 있게, warmup 패키지를 몰라도 되도록 여기에
+ *
+ * - 톰캣이 본 원격 주소 (getRemoteAddr) 가 loopback (127.0.0.0/8, ::1) 인지만 봄
+ * - 같은 호스트의 리버스 프록시 (nginx 등) 뒤에 두면 외부 요청도 모두 프록시의 loopback 주소로 들어옴 -> 외부 호출을 막지 못함
+ *   그렇게 배포하면 server.forward-headers-strategy=native 로 X-Forwarded-For 의 클라이언트 주소를 쓰게 하거나
+ *   프록시에서 이 경로들을 막을 것
+ */
+public final class RequestOrigin {
+
+    public static final String SYNTHETIC_HEADER = "X-Synthetic-Request";
+
+    private RequestOrigin() {
+    }
+
+    public static boolean isLoopback(HttpServletRequest request) {
+        try {
+            // 주소 문자열이므로 이름 조회 없이 바로 변환됨
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 로컬에서 SYNTHETIC_HEADER 를 달고 온 요청 (밖에서 헤더만 붙여서는 부수 효과를 막을 수 없도록)
+     * 같은 호스트의 리버스 프록시 뒤에서는 프록시에서 이 헤더를 지워야 함
+     */
+    public static boolean isSynthetic(HttpServletRequest request) {
+        return request.getHeader(SYNTHETIC_HEADER) != null && isLoopback(request);
+    }
+
+    /**
+     * loopback 이 아니면 403
+     */
+    public static void requireLoopback(HttpServletRequest request) {
+        if (!isLoopback(request)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package hello.springmvc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * AppCDS 학습 실행 (build.gradle 의 cdsArchive 태스크)
+ *
+ * hello.startup.training-run=true 이면 시작이 끝난 뒤
+ * - hello.startup.training-paths 를 한 번씩 호출 (첫 요청에 필요한 클래스까지 로드)
+ * - 바로 종료 -> JVM 이 종료 시점에 로드된 클래스를 -XX:ArchiveClassesAtExit 파일로 덤프
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "hello.startup.training-run", havingValue = "true")
+public class StartupTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Value("${hello.startup.training-paths:/hello-basic,/response-view-v1}")
+    private List<String> trainingPaths;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        HttpClient client = HttpClient.newHttpClient();
+        for (String path : trainingPaths) {
+            try {
+                HttpResponse<Void> response = client.send(
+                        HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                log.info("training request {} -> {}", path, response.statusCode());
+            } catch (Exception e) {
+                log.warn("training request {} failed", path, e);
+            }
+        }
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,50 @@
+package hello.springmvc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정적 리소스 (static/) 서빙
+ *
+ * - 빌드 때 만든 .gz (processResources, build.gradle) 를 Accept-Encoding 에 따라 그대로 내려줌 -> 실행 중 압축 없음
+ *  - .br 파일이 있으면 br 도 같은 방식으로 (EncodedResourceResolver)
+ * - 모든 주소가 no-cache, Last-Modified 로 304
+ *  - 정적 HTML 의 링크는 지문 붙은 주소로 바꿀 방법이 없어서 (템플릿이 아님) 지문 + immutable 은 쓰지 않음
+ * - 리소스 조회 결과는 리졸버 체인 캐시에 보관 -> 요청마다 클래스패스를 다시 뒤지지 않음
+ *
+ * 부트 기본 /** 리소스 핸들러보다 앞 순서로 등록 (부트 핸들러는 이 설정이 꺼져 있을 때만 사용)
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.static.precompressed", havingValue = "true", matchIfMissing = true)
+public class StaticResourceConfig {
+
+    @Bean
+    public ResourceHttpRequestHandler staticResourceHandler(WebProperties webProperties) {
+        ConcurrentMapCache resourceCache = new ConcurrentMapCache("static-resources");
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocationValues(List.of(webProperties.getResources().getStaticLocations()));
+        handler.setResourceResolvers(List.of(
+                new CachingResourceResolver(resourceCache),
+                new EncodedResourceResolver(),
+                new PathResourceResolver()));
+        handler.setResourceTransformers(List.of(new CachingResourceTransformer(resourceCache)));
+        handler.setCacheControl(CacheControl.noCache());
+        return handler;
+    }
+
+    @Bean
+    public SimpleUrlHandlerMapping staticResourceHandlerMapping(ResourceHttpRequestHandler staticResourceHandler) {
+        // 부트 리소스 핸들러 매핑 (LOWEST_PRECEDENCE - 1) 보다 먼저
+        return new SimpleUrlHandlerMapping(Map.of("/**", staticResourceHandler), Ordered.LOWEST_PRECEDENCE - 2);
+    }
+}
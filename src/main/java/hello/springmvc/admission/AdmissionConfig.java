@@ -0,0 +1,54 @@
+package hello.springmvc.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * hello.admission.enabled=true 이면 AdmissionFilter 등록 (설정 항목은 AdmissionProperties)
+ *
+ * - LatencyFilter 바로 뒤 -> 거절한 요청도 지연 시간 (unmatched) 에 남음
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(name = "hello.admission.enabled", havingValue = "true")
+public class AdmissionConfig {
+
+    @Bean
+    public GradientConcurrencyLimit concurrencyLimit(AdmissionProperties properties) {
+        return new GradientConcurrencyLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getTolerance(), properties.getSmoothing(), properties.getWindow().toNanos(),
+                properties.getMinWindowSamples(), properties.getProbeInterval());
+    }
+
+    @Bean
+    public AdmissionFilter admissionFilter(GradientConcurrencyLimit concurrencyLimit, AdmissionProperties properties) {
+        return new AdmissionFilter(concurrencyLimit, patterns(properties, Priority.CRITICAL), patterns(properties, Priority.LOW),
+                patterns(properties.getExclude()), properties.getLowPriorityShare(),
+                String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilterRegistration(AdmissionFilter admissionFilter) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(admissionFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    private static List<PathPattern> patterns(AdmissionProperties properties, Priority priority) {
+        return patterns(properties.getPriorities().getOrDefault(priority, List.of()));
+    }
+
+    private static List<PathPattern> patterns(List<String> patterns) {
+        return patterns.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+}
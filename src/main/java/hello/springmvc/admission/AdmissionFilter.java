@@ -0,0 +1,136 @@
+package hello.springmvc.admission;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핸들러 체인 앞에서 동시 처리 한도로 요청을 거름
+ *
+ * - 경로 패턴으로 우선순위를 정하고 (CRITICAL 먼저, 다음 LOW, 나머지 NORMAL) GradientConcurrencyLimit 에 자리를 요청
+ * - 자리가 없으면 핸들러까지 가지 않고 바로 503 + Retry-After (바디 없음)
+ *   톰캣은 503 을 보낸 뒤 연결을 닫으므로 거절당한 클라이언트는 다시 연결해야 함 (그 자체로 속도를 늦추는 효과)
+ *   -> 톰캣 대기열에 쌓여서 모든 요청이 같이 느려지는 대신, 받은 요청은 평소 지연 시간으로 처리
+ * - 비동기 요청은 비동기 처리가 끝날 때 자리를 돌려줌 (onComplete 는 timeout, error 뒤에도 항상 불림)
+ * - exclude 경로는 자리를 잡지 않고 그대로 통과 (끝나지 않는 SSE 스트림이 한도를 차지하지 않도록)
+ */
+@RequiredArgsConstructor
+public class AdmissionFilter implements Filter {
+
+    private final GradientConcurrencyLimit limit;
+    private final List<PathPattern> critical;
+    private final List<PathPattern> low;
+    private final List<PathPattern> exclude;
+    private final double lowPriorityShare;
+    private final String retryAfterSeconds;
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain)
+            throws IOException, ServletException {
+        if (!exclude.isEmpty() && matches(exclude, pathOf((HttpServletRequest) request))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!admit(priorityOf((HttpServletRequest) request))) {
+            rejected.increment();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            httpResponse.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            httpResponse.setContentLength(0);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncRelease(start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limit.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private boolean admit(Priority priority) {
+        return switch (priority) {
+            case CRITICAL -> {
+                limit.acquire();
+                yield true;
+            }
+            case NORMAL -> limit.tryAcquire(1.0);
+            case LOW -> limit.tryAcquire(lowPriorityShare);
+        };
+    }
+
+    Priority priorityOf(HttpServletRequest request) {
+        if (critical.isEmpty() && low.isEmpty()) {
+            return Priority.NORMAL;
+        }
+        PathContainer path = pathOf(request);
+        if (matches(critical, path)) {
+            return Priority.CRITICAL;
+        }
+        if (matches(low, path)) {
+            return Priority.LOW;
+        }
+        return Priority.NORMAL;
+    }
+
+    private static PathContainer pathOf(HttpServletRequest request) {
+        return PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @RequiredArgsConstructor
+    private class AsyncRelease implements AsyncListener {
+
+        private final long start;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limit.release(System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package hello.springmvc.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * hello.admission.enabled            : 동시 처리 한도로 요청을 거르는 필터 (넘치면 바로 503)
+ * hello.admission.initial-limit      : 시작 한도
+ * hello.admission.min-limit          : 한도 하한
+ * hello.admission.max-limit          : 한도 상한 (톰캣 스레드 수 이하로)
+ * hello.admission.tolerance          : 평균 처리 시간이 minRtt * tolerance 를 넘으면 한도를 줄임
+ * hello.admission.smoothing          : 윈도마다 새 한도를 섞는 비율 (0~1)
+ * hello.admission.window             : 한도를 다시 계산하는 최소 간격
+ * hello.admission.min-window-samples : 윈도 하나에 필요한 최소 샘플 수
+ * hello.admission.probe-interval     : 몇 윈도마다 minRtt 를 다시 잴지
+ * hello.admission.low-priority-share : LOW 요청이 쓸 수 있는 한도 비율
+ * hello.admission.retry-after        : 거절 응답의 Retry-After
+ * hello.admission.priorities         : 우선순위별 경로 패턴 (없으면 NORMAL)
+ * hello.admission.exclude            : 한도를 거치지 않는 경로 패턴 (SSE 처럼 오래 열려 있는 연결, 자리를 계속 차지하므로)
+ */
+@Getter
+@Setter
+@ConfigurationProperties("hello.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    private double tolerance = 2.0;
+    private double smoothing = 0.2;
+    private Duration window = Duration.ofMillis(100);
+    private int minWindowSamples = 10;
+    private int probeInterval = 600;
+    private double lowPriorityShare = 0.5;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private Map<Priority, List<String>> priorities = new EnumMap<>(Priority.class);
+    private List<String> exclude = new ArrayList<>();
+}
@@ -0,0 +1,140 @@
+package hello.springmvc.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 관측한 처리 시간으로 동시 처리 한도를 조절 (gradient 방식)
+ *
+ * 입장
+ * - inflight 가 한도 * share 보다 작으면 CAS 로 올리고 통과, 아니면 거절 -> 요청 경로에 락 없음
+ * - acquire() 는 한도와 상관없이 통과 (항상 받는 요청도 inflight 에는 들어가서 한도 계산에 반영됨)
+ *
+ * 한도 조절
+ * - 끝난 요청의 처리 시간을 윈도 (window 시간 이상 + min-window-samples 개 이상) 단위로 모아 평균을 냄
+ * - 윈도가 끝나면
+ *   gradient = clamp(minRtt * tolerance / 평균, 0.5, 1)
+ *   새 한도 = 한도 * gradient + sqrt(한도)  (sqrt 만큼은 대기열 여유, 지연이 그대로면 한도가 조금씩 오름)
+ *   -> smoothing 비율로 섞고 [min-limit, max-limit] 로 자름
+ * - 윈도 동안 inflight 가 한도의 절반도 안 찼으면 한도를 바꾸지 않음 (부하가 적을 때는 배울 게 없음)
+ * - minRtt (부하 없을 때 처리 시간) 는 윈도 평균의 최솟값
+ *   probe-interval 윈도마다 포화되지 않은 윈도의 평균으로 다시 잼 (배포, 데이터 변화로 기준이 바뀌는 경우)
+ * - 윈도 집계는 tryLock 으로, 다른 스레드가 집계 중이면 그 샘플은 버림 (요청이 끝날 때 기다리지 않도록)
+ */
+public class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final int probeInterval;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+
+    /**
+     * 윈도 상태 (lock 으로 보호)
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private long windowStart = System.nanoTime();
+    private long rttSum;
+    private int samples;
+    private int maxInflight;
+    private long minRtt = Long.MAX_VALUE;
+    private int windows;
+    private boolean probeDue;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                                    long windowNanos, int minWindowSamples, int probeInterval) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.probeInterval = probeInterval;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * 한도 * share 안이면 자리를 잡고 true
+     */
+    public boolean tryAcquire(double share) {
+        int max = Math.max(1, (int) (limit * share));
+        for (;;) {
+            int current = inflight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 한도와 상관없이 자리를 잡음
+     */
+    public void acquire() {
+        inflight.incrementAndGet();
+    }
+
+    /**
+     * 자리를 돌려주고 처리 시간을 샘플로 남김
+     */
+    public void release(long rttNanos) {
+        int current = inflight.getAndDecrement();
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            rttSum += rttNanos;
+            samples++;
+            maxInflight = Math.max(maxInflight, current);
+            long now = System.nanoTime();
+            if (now - windowStart >= windowNanos && samples >= minWindowSamples) {
+                closeWindow();
+                windowStart = now;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeWindow() {
+        long average = rttSum / samples;
+        double current = limit;
+        boolean saturated = maxInflight >= current / 2;
+        rttSum = 0;
+        samples = 0;
+        maxInflight = 0;
+
+        if (++windows % probeInterval == 0) {
+            probeDue = true;
+        }
+        if (probeDue && !saturated) {
+            minRtt = average;
+            probeDue = false;
+        } else {
+            minRtt = Math.min(minRtt, average);
+        }
+        if (!saturated) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, minRtt * tolerance / average));
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - smoothing) + next * smoothing;
+        limit = Math.max(minLimit, Math.min(next, maxLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
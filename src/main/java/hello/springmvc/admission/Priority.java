@@ -0,0 +1,12 @@
+package hello.springmvc.admission;
+
+/**
+ * 과부하일 때 요청을 받는 순서
+ *
+ * - CRITICAL : 한도와 상관없이 항상 받음 (헬스 체크 같은 요청)
+ * - NORMAL   : 동시 처리 한도까지 받음
+ * - LOW      : 한도 * low-priority-share 까지만 받음 (NORMAL 보다 먼저 거절됨)
+ */
+public enum Priority {
+    CRITICAL, NORMAL, LOW
+}
@@ -0,0 +1,31 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.basic.HelloData;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 대량 등록 배치 하나의 처리 결과
+ */
+@Data
+public class BatchSummary {
+
+    private final long batch;
+    private final int records;
+    private final int minAge;
+    private final int maxAge;
+    private final double averageAge;
+
+    public static BatchSummary of(long batch, List<HelloData> records) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long sum = 0;
+        for (HelloData record : records) {
+            min = Math.min(min, record.getAge());
+            max = Math.max(max, record.getAge());
+            sum += record.getAge();
+        }
+        return new BatchSummary(batch, records.size(), min, max, (double) sum / records.size());
+    }
+}
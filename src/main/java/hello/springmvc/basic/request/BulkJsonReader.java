@@ -0,0 +1,68 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 대량 요청 바디를 레코드 단위로 읽어서 batchSize 개씩 넘겨준다.
+ *
+ * - NDJSON (줄마다 JSON 객체 하나), JSON 배열 둘 다 지원
+ *  - MappingIterator 가 최상위 배열이면 풀어서 원소 하나씩 돌려줌
+ * - 한 번에 메모리에 있는 건 파서 버퍼 + 배치 하나뿐 -> 업로드 크기와 무관하게 메모리 일정
+ * - 배치 리스트는 재사용하므로 callback 밖으로 참조를 넘기면 안 됨
+ * - 중간에 레코드를 읽지 못하면 그 전까지 모인 배치를 먼저 넘기고 예외를 그대로 던짐
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkJsonReader {
+
+    private final StreamingJsonReader streamingJsonReader;
+
+    @FunctionalInterface
+    public interface BatchCallback<T> {
+        void onBatch(long batch, List<T> records) throws IOException;
+    }
+
+    /**
+     * @return 읽은 전체 레코드 수
+     */
+    public <T> long read(InputStream inputStream, Class<T> type, int batchSize, BatchCallback<T> callback) throws IOException {
+        List<T> records = new ArrayList<>(batchSize);
+        long batch = 0;
+        long total = 0;
+
+        try (MappingIterator<T> iterator = streamingJsonReader.readerFor(type).readValues(inputStream)) {
+            while (true) {
+                T record;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    record = iterator.nextValue();
+                } catch (JsonProcessingException e) {
+                    if (!records.isEmpty()) {
+                        callback.onBatch(batch, records);
+                    }
+                    throw e;
+                }
+                records.add(record);
+                total++;
+                if (records.size() == batchSize) {
+                    callback.onBatch(batch++, records);
+                    records.clear();
+                }
+            }
+        }
+        if (!records.isEmpty()) {
+            callback.onBatch(batch, records);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,68 @@
+package hello.springmvc.basic.request;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재사용하는 ByteBuffer 풀 (기본 direct, heap 풀은 byte[] 가 필요한 임시 버퍼용)
+ *
+ * - 최대 maxBuffers 개까지만 풀 버퍼를 만들고, 반납된 버퍼는 다시 빌려줌
+ * - 풀이 바닥나면 풀 밖의 heap 버퍼를 빌려줌 -> 요청이 풀을 기다리며 막히는 일은 없음
+ *  - direct 풀은 반납해도 버려짐, heap 풀은 자리가 있으면 풀에 들어감 (어느 쪽이든 풀에는 maxBuffers 개까지만)
+ * - 스레드에 묶지 않음 -> 가상 스레드처럼 스레드가 요청마다 새로 생겨도 재사용됨 (ThreadLocal 과 달리)
+ */
+public class ByteBufferPool {
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final boolean direct;
+    private final BlockingQueue<ByteBuffer> pool;
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    public ByteBufferPool(int bufferSize, int maxBuffers) {
+        this(bufferSize, maxBuffers, true);
+    }
+
+    public ByteBufferPool(int bufferSize, int maxBuffers, boolean direct) {
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+        this.direct = direct;
+        this.pool = new ArrayBlockingQueue<>(maxBuffers);
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        if (allocated.incrementAndGet() <= maxBuffers) {
+            return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        }
+        allocated.decrementAndGet();
+        return ByteBuffer.allocate(bufferSize);
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer.isDirect() == direct && buffer.capacity() == bufferSize) {
+            buffer.clear();
+            pool.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxBuffers() {
+        return maxBuffers;
+    }
+
+    /**
+     * 지금 풀에 남아 있는 버퍼 수
+     */
+    public int available() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,85 @@
+package hello.springmvc.basic.request;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 로그용 요청 바디
+ *
+ * - 스트림을 흘려 읽으면서 앞부분 maxBytes 만 복사해둔다. (요청 크기와 무관하게 메모리 상한 고정)
+ * - 문자열 변환은 toString() 이 호출될 때 한 번만 -> 로그 레벨이 꺼져 있으면 변환 비용 없음
+ */
+public class CapturedBody {
+
+    private final byte[] buffer;
+    private int length;
+    private long total;
+    private String decoded;
+
+    public CapturedBody(int maxBytes) {
+        this.buffer = new byte[maxBytes];
+    }
+
+    /**
+     * 읽은 바이트를 기록하는 InputStream 으로 감싼다.
+     */
+    public InputStream capture(InputStream inputStream) {
+        return new FilterInputStream(inputStream) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    record(b);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read > 0) {
+                    record(b, off, read);
+                }
+                return read;
+            }
+        };
+    }
+
+    private void record(int b) {
+        if (length < buffer.length) {
+            buffer[length++] = (byte) b;
+        }
+        total++;
+    }
+
+    private void record(byte[] b, int off, int len) {
+        int copy = Math.min(len, buffer.length - length);
+        if (copy > 0) {
+            System.arraycopy(b, off, buffer, length, copy);
+            length += copy;
+        }
+        total += len;
+    }
+
+    /**
+     * 지금까지 읽은 전체 바이트 수 (보관된 양이 아니라 실제 읽은 양)
+     */
+    public long getTotalBytes() {
+        return total;
+    }
+
+    public boolean isTruncated() {
+        return total > length;
+    }
+
+    @Override
+    public String toString() {
+        if (decoded == null) {
+            String text = new String(buffer, 0, length, StandardCharsets.UTF_8);
+            decoded = isTruncated() ? text + "...(" + total + " bytes)" : text;
+        }
+        return decoded;
+    }
+}
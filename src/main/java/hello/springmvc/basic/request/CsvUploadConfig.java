@@ -0,0 +1,38 @@
+package hello.springmvc.basic.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * /request-param-upload CSV 업로드 설정
+ *
+ * hello.upload.parallelism   : 청크를 파싱하는 ForkJoinPool 스레드 수 (0 이면 코어 수)
+ * hello.upload.chunk-size    : 청크 하나 크기 (한 줄이 이보다 길면 거절)
+ * hello.upload.max-in-flight : 동시에 들고 있는 청크 수 (0 이면 parallelism * 2), 메모리 상한 = (이 값 + 1) * chunk-size
+ * hello.upload.max-errors    : 응답에 내용을 보내는 오류 줄 수 상한 (넘는 줄은 개수만 셈)
+ *
+ * ForkJoinPool 은 빈으로 등록하지 않음 (Executor 빈이 있으면 applicationTaskExecutor 자동 설정이 빠짐)
+ */
+@Configuration
+public class CsvUploadConfig {
+
+    @Value("${hello.upload.parallelism:0}")
+    private int parallelism;
+
+    @Value("${hello.upload.chunk-size:1MB}")
+    private DataSize chunkSize;
+
+    @Value("${hello.upload.max-in-flight:0}")
+    private int maxInFlight;
+
+    @Value("${hello.upload.max-errors:1000}")
+    private int maxErrors;
+
+    @Bean(destroyMethod = "close")
+    public CsvUploadProcessor csvUploadProcessor() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new CsvUploadProcessor(threads, Math.toIntExact(chunkSize.toBytes()), maxInFlight, maxErrors);
+    }
+}
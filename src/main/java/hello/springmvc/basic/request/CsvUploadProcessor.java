@@ -0,0 +1,295 @@
+package hello.springmvc.basic.request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * username,age CSV 스트림을 청크로 잘라 ForkJoinPool 에서 병렬 검사
+ *
+ * - 읽는 쪽 (요청 스레드) 은 chunkSize 만큼 읽고 마지막 줄바꿈에서 자름, 나머지는 다음 청크 앞으로
+ *   -> 청크마다 완전한 줄만 있으니 청크끼리 독립적으로 파싱
+ * - 동시에 들고 있는 청크는 maxInFlight 개까지 (넘으면 가장 앞 청크가 끝날 때까지 읽기를 멈춤)
+ *   -> 파일 크기와 상관없이 메모리는 (maxInFlight + 1) * chunkSize, 끝난 청크의 버퍼는 다시 씀
+ * - 결과는 파일 순서대로 listener 에 넘김 (줄 번호는 앞 청크들의 줄 수를 더해서 파일 기준으로)
+ *
+ * 검사 규칙은 RequestParamController (/request-param-v1 ~ v4) 와 같음
+ * - username, age 두 칸이 있어야 함 (username 은 빈 값 허용)
+ * - age 는 int 여야 함 (앞뒤 공백은 무시)
+ * - 첫 줄이 "username,age" 면 헤더로 보고 건너뜀, 빈 줄도 건너뜀
+ * - "..." 로 감싼 칸 안의 쉼표와 "" 는 허용, 칸 안의 줄바꿈은 허용하지 않음 (청크를 줄바꿈에서 자르므로)
+ */
+public class CsvUploadProcessor {
+
+    private static final byte[] HEADER = "username,age".getBytes(StandardCharsets.US_ASCII);
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final int maxErrors;
+
+    /**
+     * parallelism 개 스레드의 전용 ForkJoinPool 을 만듦 (close 에서 종료)
+     * maxInFlight 가 0 이면 parallelism * 2
+     */
+    public CsvUploadProcessor(int parallelism, int chunkSize, int maxInFlight, int maxErrors) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : parallelism * 2;
+        this.maxErrors = maxErrors;
+    }
+
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * 끝까지 읽고 전체 결과를 돌려줌, 청크가 끝날 때마다 (파일 순서로) listener 호출
+     * 한 줄이 chunkSize 보다 길면 IllegalArgumentException
+     * 읽다가 실패하면 그 전까지 맡긴 청크를 모두 listener 에 넘긴 뒤 예외를 그대로 던짐
+     */
+    public UploadProgress process(InputStream in, Listener listener) throws IOException {
+        UploadProgress total = new UploadProgress();
+        Deque<ForkJoinTask<Chunk>> pending = new ArrayDeque<>();
+        Deque<byte[]> freeBuffers = new ArrayDeque<>();
+        byte[] carry = new byte[0];
+        boolean first = true;
+        boolean eof = false;
+        try {
+            while (!eof) {
+                byte[] buffer = freeBuffers.isEmpty() ? new byte[chunkSize] : freeBuffers.poll();
+                System.arraycopy(carry, 0, buffer, 0, carry.length);
+                int length = carry.length;
+                while (length < buffer.length) {
+                    int n = in.read(buffer, length, buffer.length - length);
+                    if (n == -1) {
+                        eof = true;
+                        break;
+                    }
+                    length += n;
+                }
+
+                int end = eof ? length : lastNewline(buffer, length) + 1;
+                if (end == 0 && length > 0) {
+                    // 앞 청크를 다 반영해야 줄 번호가 맞음
+                    drain(pending, total, listener, freeBuffers);
+                    throw new IllegalArgumentException("line " + (total.getLines() + 1) + " is longer than " + chunkSize + " bytes");
+                }
+                carry = Arrays.copyOfRange(buffer, end, length);
+                if (end > 0) {
+                    boolean skipHeader = first;
+                    int chunkEnd = end;
+                    pending.add(pool.submit(() -> parse(buffer, chunkEnd, skipHeader, maxErrors)));
+                    first = false;
+                } else {
+                    freeBuffers.add(buffer);
+                }
+
+                // 꽉 찼으면 맨 앞이 끝날 때까지 기다리고, 아니면 이미 끝난 것만
+                while (!pending.isEmpty() && (pending.size() >= maxInFlight || pending.peek().isDone())) {
+                    complete(pending.poll().join(), total, listener, freeBuffers);
+                }
+            }
+            drain(pending, total, listener, freeBuffers);
+        } catch (IOException | RuntimeException e) {
+            // 읽기가 실패해도 이미 맡긴 청크 결과는 파일 순서대로 넘기고 던짐, 넘기다가도 실패하면 (연결 끊김 등) 나머지는 취소
+            try {
+                drain(pending, total, listener, freeBuffers);
+            } catch (IOException | RuntimeException drainFailure) {
+                e.addSuppressed(drainFailure);
+                pending.forEach(task -> task.cancel(true));
+                pending.clear();
+            }
+            throw e;
+        }
+        total.setDone(true);
+        return total;
+    }
+
+    private void drain(Deque<ForkJoinTask<Chunk>> pending, UploadProgress total, Listener listener,
+                       Deque<byte[]> freeBuffers) throws IOException {
+        while (!pending.isEmpty()) {
+            complete(pending.poll().join(), total, listener, freeBuffers);
+        }
+    }
+
+    private void complete(Chunk chunk, UploadProgress total, Listener listener, Deque<byte[]> freeBuffers) throws IOException {
+        long lineOffset = total.getLines();
+        long budget = Math.max(0, maxErrors - total.getReportedErrors());
+        int reported = (int) Math.min(budget, chunk.errors.size());
+        for (int i = 0; i < reported; i++) {
+            RowError error = chunk.errors.get(i);
+            listener.onError(new RowError(lineOffset + error.getLine(), error.getError()));
+        }
+        total.add(chunk.bytes, chunk.lines, chunk.accepted, chunk.rejected, reported);
+        freeBuffers.add(chunk.buffer);
+        listener.onProgress(total);
+    }
+
+    private static int lastNewline(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 청크 하나 (줄 번호는 청크 안에서 1 부터, 오류 내용은 maxErrors 개까지만 보관)
+     */
+    static Chunk parse(byte[] buffer, int length, boolean skipHeader, int maxErrors) {
+        Chunk chunk = new Chunk(buffer, length);
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && buffer[end] != '\n') {
+                end++;
+            }
+            chunk.lines++;
+            int lineEnd = end > start && buffer[end - 1] == '\r' ? end - 1 : end;
+            if (lineEnd > start && !(skipHeader && chunk.lines == 1 && isHeader(buffer, start, lineEnd))) {
+                String error = validate(buffer, start, lineEnd);
+                if (error == null) {
+                    chunk.accepted++;
+                } else if (chunk.rejected++ < maxErrors) {
+                    chunk.errors.add(new RowError(chunk.lines, error));
+                }
+            }
+            start = end + 1;
+        }
+        return chunk;
+    }
+
+    private static boolean isHeader(byte[] buffer, int start, int end) {
+        if (end - start != HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; i++) {
+            if ((buffer[start + i] | 0x20) != HEADER[i] && buffer[start + i] != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 문제없으면 null
+     */
+    private static String validate(byte[] buffer, int start, int end) {
+        int usernameEnd = skipField(buffer, start, end);
+        if (usernameEnd < 0) {
+            return "unterminated quoted username";
+        }
+        if (usernameEnd >= end || buffer[usernameEnd] != ',') {
+            return "expected 2 columns (username,age)";
+        }
+        int ageStart = usernameEnd + 1;
+        int ageEnd = skipField(buffer, ageStart, end);
+        if (ageEnd != end) {
+            return "expected 2 columns (username,age)";
+        }
+        if (isInt(buffer, ageStart, ageEnd)) {
+            return null;
+        }
+        String age = unquote(buffer, ageStart, ageEnd).trim();
+        try {
+            Integer.parseInt(age);
+            return null;
+        } catch (NumberFormatException e) {
+            return "age must be an integer: '" + age + "'";
+        }
+    }
+
+    /**
+     * 따옴표 없는 흔한 경우를 문자열 없이 확인 (Integer.parseInt 와 같은 범위), 아니면 false -> 문자열로 다시 확인
+     */
+    private static boolean isInt(byte[] buffer, int start, int end) {
+        while (start < end && buffer[start] == ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] == ' ') {
+            end--;
+        }
+        boolean negative = start < end && buffer[start] == '-';
+        if (start < end && (buffer[start] == '-' || buffer[start] == '+')) {
+            start++;
+        }
+        if (start == end || end - start > 10) {
+            return false;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value >= Integer.MIN_VALUE : value <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * start 에서 시작하는 칸의 끝 (쉼표 위치 또는 end), 닫히지 않은 따옴표면 -1
+     */
+    private static int skipField(byte[] buffer, int start, int end) {
+        if (start < end && buffer[start] == '"') {
+            int i = start + 1;
+            while (i < end) {
+                if (buffer[i] == '"') {
+                    if (i + 1 < end && buffer[i + 1] == '"') {
+                        i += 2;
+                        continue;
+                    }
+                    return i + 1;
+                }
+                i++;
+            }
+            return -1;
+        }
+        int i = start;
+        while (i < end && buffer[i] != ',') {
+            i++;
+        }
+        return i;
+    }
+
+    private static String unquote(byte[] buffer, int start, int end) {
+        if (end - start >= 2 && buffer[start] == '"' && buffer[end - 1] == '"') {
+            return new String(buffer, start + 1, end - start - 2, StandardCharsets.UTF_8).replace("\"\"", "\"");
+        }
+        return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 파일 순서대로 불림 (요청 스레드)
+     */
+    public interface Listener {
+
+        void onError(RowError error) throws IOException;
+
+        void onProgress(UploadProgress progress) throws IOException;
+    }
+
+    static final class Chunk {
+
+        private final byte[] buffer;
+        private final long bytes;
+        private final List<RowError> errors = new ArrayList<>();
+        private int lines;
+        private int accepted;
+        private int rejected;
+
+        Chunk(byte[] buffer, int bytes) {
+            this.buffer = buffer;
+            this.bytes = bytes;
+        }
+    }
+}
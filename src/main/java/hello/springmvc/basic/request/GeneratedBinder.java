@@ -0,0 +1,167 @@
+package hello.springmvc.basic.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 타입 하나 전용 @ModelAttribute 바인더 (처음 쓸 때 한 번 만들어 둠)
+ *
+ * - 기본 생성자, setter 를 MethodHandle 로 미리 찾아둠 -> 요청마다 리플렉션, PropertyDescriptor 조회 없음
+ * - String, int, long, Integer, Long 프로퍼티는 직접 변환해서 setter 호출
+ * - 나머지 경우는 bind() 가 false 를 돌려줌 -> 호출하는 쪽이 기본 WebDataBinder 로 다시 바인딩
+ *  - 빈 문자열이나 숫자가 아닌 값이 숫자 프로퍼티로 들어온 경우 (BindException, 빈 값 처리는 기본 바인더 그대로)
+ *  - 같은 이름 파라미터가 여러 개, _age / !age 같은 필드 마커가 있는 경우
+ *  - 지원하지 않는 타입의 프로퍼티에 값이 들어온 경우
+ */
+public class GeneratedBinder {
+
+    enum Kind {STRING, INT, LONG, INTEGER, LONG_WRAPPER, UNSUPPORTED}
+
+    private record Property(String name, String fieldMarker, String fieldDefault, Kind kind, MethodHandle setter) {
+    }
+
+    private final Class<?> type;
+    private final String defaultName;
+    private final MethodHandle constructor;
+    private final Property[] properties;
+
+    private GeneratedBinder(Class<?> type, MethodHandle constructor, Property[] properties) {
+        this.type = type;
+        this.defaultName = ClassUtils.getShortNameAsProperty(type);
+        this.constructor = constructor;
+        this.properties = properties;
+    }
+
+    /**
+     * public 기본 생성자와 지원하는 타입의 setter 가 하나 이상 있는 public 클래스만 가능, 아니면 null
+     */
+    public static GeneratedBinder of(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers()) || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+                || BeanUtils.isSimpleProperty(type) || type.getName().startsWith("java.")) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+
+            List<Property> properties = new ArrayList<>();
+            boolean supported = false;
+            for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+                Method writeMethod = descriptor.getWriteMethod();
+                if (writeMethod == null || !Modifier.isPublic(writeMethod.getDeclaringClass().getModifiers())) {
+                    continue;
+                }
+                Kind kind = kindOf(descriptor.getPropertyType());
+                MethodHandle setter = lookup.unreflect(writeMethod);
+                setter = kind == Kind.UNSUPPORTED ? null
+                        : setter.asType(MethodType.methodType(void.class, Object.class, descriptor.getPropertyType()));
+                String name = descriptor.getName();
+                properties.add(new Property(name, "_" + name, "!" + name, kind, setter));
+                supported |= kind != Kind.UNSUPPORTED;
+            }
+            return supported ? new GeneratedBinder(type, constructor, properties.toArray(Property[]::new)) : null;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Kind kindOf(Class<?> propertyType) {
+        if (propertyType == String.class) {
+            return Kind.STRING;
+        } else if (propertyType == int.class) {
+            return Kind.INT;
+        } else if (propertyType == long.class) {
+            return Kind.LONG;
+        } else if (propertyType == Integer.class) {
+            return Kind.INTEGER;
+        } else if (propertyType == Long.class) {
+            return Kind.LONG_WRAPPER;
+        }
+        return Kind.UNSUPPORTED;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 모델 이름 기본값 (HelloData -> helloData)
+     */
+    public String getDefaultName() {
+        return defaultName;
+    }
+
+    /**
+     * 요청 파라미터로 새 객체를 만들어 채운다. 직접 처리할 수 없는 요청이면 null
+     * 생성자, setter 가 예외를 던지면 InvocationTargetException 으로 감싸서 던짐
+     */
+    public Object bind(HttpServletRequest request) throws InvocationTargetException {
+        // 변환할 값을 먼저 모두 검사하고 나서 객체를 만든다 (기본 바인더로 넘길 때 버릴 객체를 만들지 않도록)
+        for (Property property : properties) {
+            String[] values = request.getParameterValues(property.name);
+            if (values != null && (values.length != 1 || property.kind == Kind.UNSUPPORTED
+                    || (property.kind != Kind.STRING && !isPlainNumber(values[0], property.kind)))) {
+                return null;
+            }
+            if (request.getParameter(property.fieldMarker) != null || request.getParameter(property.fieldDefault) != null) {
+                return null;
+            }
+        }
+
+        try {
+            Object target = constructor.invokeExact();
+            for (Property property : properties) {
+                String value = request.getParameter(property.name);
+                if (value == null) {
+                    continue;
+                }
+                switch (property.kind) {
+                    case STRING -> property.setter.invokeExact(target, value);
+                    case INT -> property.setter.invokeExact(target, Integer.parseInt(value));
+                    case LONG -> property.setter.invokeExact(target, Long.parseLong(value));
+                    case INTEGER -> property.setter.invokeExact(target, Integer.valueOf(value));
+                    case LONG_WRAPPER -> property.setter.invokeExact(target, Long.valueOf(value));
+                    default -> throw new IllegalStateException(property.name);
+                }
+            }
+            return target;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // invokeExact 는 Throwable 을 선언함, 실제로는 생성자, setter 의 예외
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * 부호와 숫자만, int 는 9자리 / long 은 18자리 이하 (넘칠 일 없는 길이)
+     * 공백, 16진수 (0x..), 빈 문자열 등은 기본 바인더의 NumberUtils 규칙을 따르도록 넘긴다.
+     */
+    private static boolean isPlainNumber(String value, Kind kind) {
+        int length = value.length();
+        int start = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        int maxDigits = kind == Kind.INT || kind == Kind.INTEGER ? 9 : 18;
+        if (length == start || length - start > maxDigits) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
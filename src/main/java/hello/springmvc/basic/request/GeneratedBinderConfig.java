@@ -0,0 +1,37 @@
+package hello.springmvc.basic.request;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * hello.binding.generated=true 이면 @ModelAttribute 를 GeneratedModelAttributeResolver 로 바인딩
+ *
+ * 기본 ModelAttribute 리졸버보다 먼저 물어봐야 하므로 HeaderMapConfig 처럼 어댑터의 리졸버 목록 맨 앞에 넣는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.binding.generated", havingValue = "true")
+public class GeneratedBinderConfig {
+
+    @Bean
+    public static BeanPostProcessor generatedModelAttributePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter adapter && adapter.getArgumentResolvers() != null) {
+                    List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+                    resolvers.add(new GeneratedModelAttributeResolver());
+                    resolvers.addAll(adapter.getArgumentResolvers());
+                    adapter.setArgumentResolvers(resolvers);
+                }
+                return bean;
+            }
+        };
+    }
+}
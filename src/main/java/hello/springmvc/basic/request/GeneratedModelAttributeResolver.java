@@ -0,0 +1,108 @@
+package hello.springmvc.basic.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.annotation.ValidationAnnotationUtils;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ServletModelAttributeMethodProcessor;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @ModelAttribute (생략한 경우 포함) 파라미터를 GeneratedBinder 로 바인딩
+ *
+ * 아래 경우는 기본 ServletModelAttributeMethodProcessor 에 그대로 맡긴다.
+ * - 모델에 같은 이름 객체가 이미 있음 (@SessionAttributes 등), URI 변수, 멀티파트 요청
+ * - @Valid 등 검증 애노테이션, BindingResult 파라미터가 뒤따르는 경우
+ * - GeneratedBinder 가 처리할 수 없는 값 (타입 오류 -> 기본 바인더가 BindException)
+ *
+ * @InitBinder 로 허용 필드, 에디터를 바꾼 타입에는 쓰지 말 것 (생성된 바인더는 WebDataBinder 설정을 보지 않음)
+ */
+public class GeneratedModelAttributeResolver implements HandlerMethodArgumentResolver {
+
+    private final ServletModelAttributeMethodProcessor delegate = new ServletModelAttributeMethodProcessor(true);
+    private final ConcurrentMap<Class<?>, Optional<GeneratedBinder>> binders = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        ModelAttribute modelAttribute = parameter.getParameterAnnotation(ModelAttribute.class);
+        if (modelAttribute == null && parameter.getParameterAnnotations().length > 0) {
+            return false;
+        }
+        if (modelAttribute != null && !modelAttribute.binding()) {
+            return false;
+        }
+        return binderFor(parameter.getParameterType()) != null && !needsBindingResult(parameter);
+    }
+
+    private GeneratedBinder binderFor(Class<?> type) {
+        return binders.computeIfAbsent(type, t -> Optional.ofNullable(GeneratedBinder.of(t))).orElse(null);
+    }
+
+    private static boolean needsBindingResult(MethodParameter parameter) {
+        for (Annotation annotation : parameter.getParameterAnnotations()) {
+            // 기본 처리와 같은 기준 (@Validated, @Valid 등)
+            if (ValidationAnnotationUtils.determineValidationHints(annotation) != null) {
+                return true;
+            }
+        }
+        Class<?>[] parameterTypes = parameter.getExecutable().getParameterTypes();
+        int next = parameter.getParameterIndex() + 1;
+        return next < parameterTypes.length && BindingResult.class.isAssignableFrom(parameterTypes[next]);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        GeneratedBinder binder = binderFor(parameter.getParameterType());
+        String name = nameOf(parameter, binder);
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+
+        Object attribute = null;
+        if (mavContainer != null && !mavContainer.containsAttribute(name) && request != null && canBindDirectly(request, name)) {
+            try {
+                attribute = binder.bind(request);
+            } catch (ReflectiveOperationException e) {
+                // 생성자, setter 가 던짐 -> 기본 바인더로 다시 (같은 예외를 바인딩 오류로 다룸)
+                attribute = null;
+            }
+        }
+        if (attribute == null) {
+            return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        }
+
+        // 기본 처리와 같은 모델 내용 (객체 + BindingResult)
+        mavContainer.addAttribute(name, attribute);
+        mavContainer.addAttribute(BindingResult.MODEL_KEY_PREFIX + name, new BeanPropertyBindingResult(attribute, name));
+        return attribute;
+    }
+
+    private static String nameOf(MethodParameter parameter, GeneratedBinder binder) {
+        ModelAttribute modelAttribute = parameter.getParameterAnnotation(ModelAttribute.class);
+        return modelAttribute != null && StringUtils.hasText(modelAttribute.value()) ? modelAttribute.value() : binder.getDefaultName();
+    }
+
+    private static boolean canBindDirectly(HttpServletRequest request, String name) {
+        if (request.getParameter(name) != null) {
+            return false;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.regionMatches(true, 0, "multipart/", 0, 10)) {
+            return false;
+        }
+        Object uriVariables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return !(uriVariables instanceof Map<?, ?> map) || map.isEmpty();
+    }
+}
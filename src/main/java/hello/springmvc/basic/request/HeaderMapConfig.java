@@ -0,0 +1,38 @@
+package hello.springmvc.basic.request;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * hello.request-header.lazy-map=true 이면 @RequestHeader MultiValueMap 에 복사본 대신 ServletHeaderMap 사용
+ *
+ * WebMvcConfigurer.addArgumentResolvers 로 추가한 리졸버는 기본 리졸버 뒤에 붙어서
+ * @RequestHeader 맵은 기본 리졸버가 먼저 가져감 -> 어댑터 초기화 후 맨 앞에 끼워 넣는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.request-header.lazy-map", havingValue = "true", matchIfMissing = true)
+public class HeaderMapConfig {
+
+    @Bean
+    public static BeanPostProcessor servletHeaderMapPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter adapter && adapter.getArgumentResolvers() != null) {
+                    List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+                    resolvers.add(new ServletHeaderMapArgumentResolver());
+                    resolvers.addAll(adapter.getArgumentResolvers());
+                    adapter.setArgumentResolvers(resolvers);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,221 @@
+package hello.springmvc.basic.request;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * multipart/form-data 요청 바디에서 파트 하나의 내용만 읽는 InputStream
+ *
+ * - 요청 바디를 그대로 읽으면서 경계 ("\r\n--" + boundary) 를 찾음 -> 파트를 디스크나 힙에 모으지 않음
+ * - 찾는 파트 앞의 다른 파트는 읽어서 버리고, 찾는 파트의 내용이 끝나면 (다음 경계) EOF
+ * - 들고 있는 건 고정 크기 버퍼 하나 (경계가 버퍼 끝에 걸칠 수 있으니 경계 길이 - 1 바이트는 다음 읽기까지 남겨 둠)
+ * - 형식이 깨진 바디 (경계 없이 끝남, 헤더가 너무 김) 는 IllegalArgumentException
+ */
+public class MultipartFileStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+    private static final int UNKNOWN = -2;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean partDone;
+    private String partName;
+    private int delimiterAt = UNKNOWN;
+
+    private MultipartFileStream(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[BUFFER_SIZE + delimiter.length];
+        // 첫 경계는 바디 맨 앞이라 앞에 CRLF 가 없음 -> 있는 것처럼 채워 두고 같은 방식으로 찾음
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        this.limit = 2;
+    }
+
+    /**
+     * name 파트의 내용 스트림 (그런 파트가 없으면 null)
+     */
+    public static MultipartFileStream open(InputStream in, String contentType, String name) throws IOException {
+        MultipartFileStream stream = new MultipartFileStream(in, boundary(contentType));
+        while (stream.nextPart()) {
+            if (name.equals(stream.partName)) {
+                return stream;
+            }
+            stream.skipPart();
+        }
+        return null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (!partDone) {
+            int found = indexOfDelimiter();
+            int available = found >= 0 ? found - pos : limit - pos - (delimiter.length - 1);
+            if (found == pos) {
+                partDone = true;
+                break;
+            }
+            if (available > 0) {
+                int n = Math.min(len, available);
+                System.arraycopy(buffer, pos, b, off, n);
+                pos += n;
+                return n;
+            }
+            if (!fill()) {
+                throw new IllegalArgumentException("multipart body ended without closing boundary");
+            }
+        }
+        return -1;
+    }
+
+    private static String boundary(String contentType) {
+        try {
+            String boundary = contentType == null ? null : MediaType.parseMediaType(contentType).getParameter("boundary");
+            if (boundary == null || boundary.isEmpty()) {
+                throw new IllegalArgumentException("multipart boundary missing");
+            }
+            if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                boundary = boundary.substring(1, boundary.length() - 1);
+            }
+            return boundary;
+        } catch (InvalidMediaTypeException e) {
+            throw new IllegalArgumentException("invalid content type: " + contentType);
+        }
+    }
+
+    /**
+     * 다음 경계까지 건너뛰고 파트 헤더를 읽음 (마지막 경계 "--" 면 false)
+     */
+    private boolean nextPart() throws IOException {
+        int found;
+        while ((found = indexOfDelimiter()) < 0) {
+            pos = Math.max(pos, limit - (delimiter.length - 1));
+            if (!fill()) {
+                throw new IllegalArgumentException("multipart boundary not found");
+            }
+        }
+        pos = found + delimiter.length;
+        ensure(2);
+        if (buffer[pos] == '-' && buffer[pos + 1] == '-') {
+            return false;
+        }
+        int headerEnd;
+        while ((headerEnd = indexOf(new byte[]{'\r', '\n', '\r', '\n'})) < 0) {
+            if (limit - pos > MAX_HEADER_BYTES || !fill()) {
+                throw new IllegalArgumentException("multipart part headers too long or truncated");
+            }
+        }
+        String headers = new String(buffer, pos, headerEnd - pos, StandardCharsets.UTF_8);
+        pos = headerEnd + 4;
+        partName = nameOf(headers);
+        partDone = false;
+        return true;
+    }
+
+    private void skipPart() throws IOException {
+        byte[] discard = new byte[BUFFER_SIZE];
+        while (read(discard, 0, discard.length) != -1) {
+            // 버림
+        }
+    }
+
+    private static String nameOf(String headers) {
+        for (String line : headers.split("\r\n")) {
+            if (!line.regionMatches(true, 0, "Content-Disposition:", 0, 20)) {
+                continue;
+            }
+            for (String param : line.substring(20).split(";")) {
+                String trimmed = param.trim();
+                if (trimmed.startsWith("name=")) {
+                    String value = trimmed.substring(5);
+                    return value.startsWith("\"") && value.endsWith("\"") && value.length() > 1
+                            ? value.substring(1, value.length() - 1) : value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        while (limit - pos < bytes) {
+            if (!fill()) {
+                throw new IllegalArgumentException("multipart body truncated");
+            }
+        }
+    }
+
+    /**
+     * 버퍼가 그대로인 동안은 찾은 결과를 다시 씀 (작게 나눠 읽어도 매번 다시 훑지 않도록)
+     */
+    private int indexOfDelimiter() throws IOException {
+        while (limit - pos < delimiter.length && !eof) {
+            fill();
+        }
+        if (delimiterAt == UNKNOWN || (delimiterAt >= 0 && delimiterAt < pos)) {
+            delimiterAt = indexOf(delimiter);
+        }
+        return delimiterAt;
+    }
+
+    private int indexOf(byte[] target) {
+        int last = limit - target.length;
+        byte first = target[0];
+        for (int i = pos; i <= last; i++) {
+            if (buffer[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < target.length && buffer[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 남은 바이트를 앞으로 당기고 빈자리를 채움 (더 읽은 게 없으면 false)
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (pos > 0) {
+            delimiterAt = UNKNOWN;
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == buffer.length) {
+            return false;
+        }
+        delimiterAt = UNKNOWN;
+        int n = in.read(buffer, limit, buffer.length - limit);
+        if (n == -1) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+package hello.springmvc.basic.request;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 풀에서 빌린 버퍼에 담긴 요청 바디
+ *
+ * - 바이트 그대로 들고 있다가 toString() 을 부를 때만 문자로 변환 (결과는 한 번만 만들고 재사용)
+ * - 요청이 끝나면 close() 로 버퍼를 풀에 반납 (PooledBodyArgumentResolver 가 자동으로 처리)
+ * - close() 이후에는 사용 불가
+ */
+public class PooledBody implements AutoCloseable {
+
+    private final ByteBufferPool pool;
+    private final Charset charset;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private long length;
+    private String decoded;
+    private boolean closed;
+
+    PooledBody(ByteBufferPool pool, Charset charset) {
+        this.pool = pool;
+        this.charset = charset;
+    }
+
+    /**
+     * 쓰기 가능한 마지막 버퍼, 꽉 찼으면 새로 빌려옴
+     */
+    ByteBuffer writableChunk() {
+        if (!chunks.isEmpty()) {
+            ByteBuffer last = chunks.get(chunks.size() - 1);
+            if (last.hasRemaining()) {
+                return last;
+            }
+        }
+        ByteBuffer chunk = pool.acquire();
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    void written(int count) {
+        length += count;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 바디를 다시 읽는 InputStream (버퍼 복사 없음)
+     */
+    public InputStream getInputStream() {
+        checkOpen();
+        List<ByteBuffer> views = new ArrayList<>(chunks.size());
+        for (ByteBuffer chunk : chunks) {
+            views.add(chunk.duplicate().flip());
+        }
+        return new InputStream() {
+            private int index;
+
+            @Override
+            public int read() {
+                ByteBuffer current = current();
+                return current == null ? -1 : current.get() & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                ByteBuffer current = current();
+                if (current == null) {
+                    return -1;
+                }
+                int count = Math.min(len, current.remaining());
+                current.get(b, off, count);
+                return count;
+            }
+
+            private ByteBuffer current() {
+                while (index < views.size()) {
+                    ByteBuffer view = views.get(index);
+                    if (view.hasRemaining()) {
+                        return view;
+                    }
+                    index++;
+                }
+                return null;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        if (decoded == null) {
+            checkOpen();
+            decoded = decode();
+        }
+        return decoded;
+    }
+
+    private String decode() {
+        // String 생성자가 바이트 -> 문자 변환을 가장 빠르게 처리하므로 한 번 모아서 넘김
+        byte[] bytes = new byte[Math.toIntExact(length)];
+        int offset = 0;
+        for (ByteBuffer chunk : chunks) {
+            ByteBuffer view = chunk.duplicate().flip();
+            int count = view.remaining();
+            view.get(bytes, offset, count);
+            offset += count;
+        }
+        return new String(bytes, charset);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("body already released");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            chunks.forEach(pool::release);
+            chunks.clear();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package hello.springmvc.basic.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 컨트롤러 파라미터가 PooledBody 이면 요청 바디를 풀링된 버퍼로 읽어서 넘겨준다.
+ * 버퍼 반납은 요청이 끝날 때 (DispatcherServlet 의 request 완료 콜백) 자동으로.
+ */
+@RequiredArgsConstructor
+public class PooledBodyArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final PooledBodyReader pooledBodyReader;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return PooledBody.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        PooledBody body = pooledBodyReader.read(request);
+        // 콜백 이름이 같으면 앞의 콜백을 덮어씀 -> 파라미터마다 따로 (PooledBody 파라미터가 둘이어도 모두 반납)
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                PooledBody.class.getName() + "#" + parameter.getParameterIndex(), body::close, RequestAttributes.SCOPE_REQUEST);
+        return body;
+    }
+}
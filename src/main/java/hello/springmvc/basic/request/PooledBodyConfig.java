@@ -0,0 +1,45 @@
+package hello.springmvc.basic.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * PooledBody 파라미터 사용 설정
+ *
+ * hello.request-body.pool.buffer-size : 버퍼 하나 크기
+ * hello.request-body.pool.max-buffers : 풀에 유지하는 direct 버퍼 최대 개수
+ * hello.request-body.max-size         : 요청 바디 최대 크기 (넘으면 413)
+ */
+@Configuration
+public class PooledBodyConfig implements WebMvcConfigurer {
+
+    @Value("${hello.request-body.pool.buffer-size:8KB}")
+    private DataSize bufferSize;
+
+    @Value("${hello.request-body.pool.max-buffers:256}")
+    private int maxBuffers;
+
+    @Value("${hello.request-body.max-size:1MB}")
+    private DataSize maxBodySize;
+
+    @Bean
+    public ByteBufferPool requestBodyBufferPool() {
+        return new ByteBufferPool(Math.toIntExact(bufferSize.toBytes()), maxBuffers);
+    }
+
+    @Bean
+    public PooledBodyReader pooledBodyReader() {
+        return new PooledBodyReader(requestBodyBufferPool(), maxBodySize.toBytes());
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new PooledBodyArgumentResolver(pooledBodyReader()));
+    }
+}
@@ -0,0 +1,74 @@
+package hello.springmvc.basic.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 요청 바디를 풀링된 direct 버퍼로 읽는다.
+ *
+ * - StreamUtils.copyToString, StringHttpMessageConverter 처럼 요청마다 커지는 heap 버퍼를 만들지 않음
+ * - Content-Length 가 maxBodySize 를 넘으면 읽기 전에 413
+ * - Content-Length 가 없거나 틀려도 읽는 도중 maxBodySize 를 넘으면 바로 413
+ */
+public class PooledBodyReader {
+
+    private final ByteBufferPool pool;
+    private final long maxBodySize;
+
+    /**
+     * InputStream -> direct 버퍼 복사용 임시 배열, 읽는 동안만 빌림 (heap 버퍼 풀)
+     */
+    private final ByteBufferPool scratchPool;
+
+    public PooledBodyReader(ByteBufferPool pool, long maxBodySize) {
+        this.pool = pool;
+        this.maxBodySize = maxBodySize;
+        this.scratchPool = new ByteBufferPool(pool.getBufferSize(), pool.getMaxBuffers(), false);
+    }
+
+    public PooledBody read(HttpServletRequest request) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxBodySize) {
+            throw tooLarge();
+        }
+        String encoding = request.getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return read(request.getInputStream(), charset);
+    }
+
+    public PooledBody read(InputStream inputStream, Charset charset) throws IOException {
+        PooledBody body = new PooledBody(pool, charset);
+        ByteBuffer scratch = scratchPool.acquire();
+        byte[] bytes = scratch.array();
+        try {
+            while (true) {
+                ByteBuffer chunk = body.writableChunk();
+                int read = inputStream.read(bytes, 0, Math.min(bytes.length, chunk.remaining()));
+                if (read < 0) {
+                    return body;
+                }
+                if (body.length() + read > maxBodySize) {
+                    throw tooLarge();
+                }
+                chunk.put(bytes, 0, read);
+                body.written(read);
+            }
+        } catch (IOException | RuntimeException e) {
+            body.close();
+            throw e;
+        } finally {
+            scratchPool.release(scratch);
+        }
+    }
+
+    private ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "request body exceeds " + maxBodySize + " bytes");
+    }
+}
@@ -0,0 +1,89 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hello.springmvc.basic.HelloData;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * HelloData 대량 등록
+ *
+ * 요청
+ * - content-type: application/x-ndjson
+ *      {"username":"a", "age":20}
+ *      {"username":"b", "age":21}
+ * - content-type: application/json
+ *      [{"username":"a", "age":20}, {"username":"b", "age":21}]
+ *
+ * 응답 (application/x-ndjson)
+ * - 배치가 끝날 때마다 BatchSummary 한 줄씩 바로 내보냄 -> 응답도 메모리에 쌓지 않음
+ * - 중간에 잘못된 레코드가 있으면 거기까지 처리하고 {"error": ...} 한 줄로 끝냄
+ *   첫 줄을 내보낼 때 상태 (200) 가 이미 나갔으므로 그 뒤의 오류도 200 -> 클라이언트는 마지막 줄이 error 인지 확인할 것
+ *   아직 아무것도 내보내지 않았으면 (첫 배치 전 오류) 400
+ */
+@Slf4j
+@RestController
+public class RequestBodyBulkController {
+
+    private final BulkJsonReader bulkJsonReader;
+    private final ObjectWriter summaryWriter;
+    private final int maxBatchSize;
+
+    public RequestBodyBulkController(BulkJsonReader bulkJsonReader, ObjectMapper objectMapper,
+                                     @Value("${hello.bulk.max-batch-size:10000}") int maxBatchSize) {
+        this.bulkJsonReader = bulkJsonReader;
+        this.summaryWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @PostMapping(value = "/request-body-json-bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public void requestBodyJsonBulk(InputStream inputStream, HttpServletResponse response,
+                                    @RequestParam(defaultValue = "1000") int batchSize) throws IOException {
+        if (batchSize < 1 || batchSize > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "batchSize must be between 1 and " + maxBatchSize);
+        }
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        try {
+            long total = bulkJsonReader.read(inputStream, HelloData.class, batchSize, (batch, records) -> {
+                BatchSummary summary = BatchSummary.of(batch, records);
+                log.debug("bulk batch={}", summary);
+                writeLine(out, summary);
+            });
+            log.info("bulk records={}", total);
+        } catch (JsonProcessingException e) {
+            // Jackson 예외는 메시지가 없을 수 있음 (Map.of 는 null 값을 받지 않음)
+            String message = Objects.requireNonNullElse(e.getOriginalMessage(), "invalid json");
+            log.info("bulk stopped: {}", message);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+            }
+            writeLine(out, Map.of("error", message));
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        summaryWriter.writeValue(out, value);
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -1,10 +1,13 @@
 package hello.springmvc.basic.request;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.RequestOrigin;
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.feed.ChangeFeed;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.stereotype.Controller;
@@ -14,17 +17,24 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 /**
  * {"username":"hello", "age":20}
  * content-type: application/json
+ *
+ * 받은 HelloData 는 변경 피드에 created 이벤트로 발행 (GET /changes 로 구독)
+ * - 워밍업, 부하 테스트가 보낸 합성 요청은 발행하지 않음 (구독자에게 가짜 created 이벤트가 가지 않도록)
  */
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class RequestBodyJsonController {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StreamingJsonReader streamingJsonReader;
+    private final ChangeFeed changeFeed;
 
     @PostMapping("/request-body-json-v1")
     public void requestBodyJsonV1(HttpServletRequest request, HttpServletResponse response) throws IOException {
@@ -35,6 +45,7 @@ public class RequestBodyJsonController {
 
         HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
         log.info("username={}, age={}", helloData.getUsername(), helloData.getAge());
+        publish(request, helloData);
 
         response.getWriter().write("ok");
 
@@ -42,10 +53,11 @@ public class RequestBodyJsonController {
 
     @ResponseBody
     @PostMapping("/request-body-json-v2")
-    public String requestBodyJsonV2(@RequestBody String messageBody) throws IOException {
+    public String requestBodyJsonV2(@RequestBody String messageBody, HttpServletRequest request) throws IOException {
         log.info("messageBody={}", messageBody);
         HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
         log.info("username={}, age={}", helloData.getUsername(), helloData.getAge());
+        publish(request, helloData);
 
         return "ok";
     }
@@ -64,16 +76,18 @@ public class RequestBodyJsonController {
      */
     @ResponseBody
     @PostMapping("/request-body-json-v3")
-    public String requestBodyJsonV3(@RequestBody HelloData helloData) { // request body 에 직접 만든 객체 넣을 수 있음
+    public String requestBodyJsonV3(@RequestBody HelloData helloData, HttpServletRequest request) { // request body 에 직접 만든 객체 넣을 수 있음
         log.info("username={}, age={}", helloData.getUsername(), helloData.getAge());
+        publish(request, helloData);
         return "ok";
     }
 
     @ResponseBody
     @PostMapping("/request-body-json-v4")
-    public String requestBodyJsonV4(HttpEntity<HelloData> httpEntity) {
+    public String requestBodyJsonV4(HttpEntity<HelloData> httpEntity, HttpServletRequest request) {
         HelloData helloData = httpEntity.getBody();
         log.info("username={}, age={}", helloData.getUsername(), helloData.getAge());
+        publish(request, helloData);
         return "ok";
     }
 
@@ -89,8 +103,34 @@ public class RequestBodyJsonController {
      */
     @ResponseBody
     @PostMapping("/request-body-json-v5")
-    public HelloData requestBodyJsonV5(@RequestBody HelloData helloData) { // ResponseBody 에도 객체 사용 가능
+    public HelloData requestBodyJsonV5(@RequestBody HelloData helloData, HttpServletRequest request) { // ResponseBody 에도 객체 사용 가능
         log.info("username={}, age={}", helloData.getUsername(), helloData.getAge());
+        publish(request, helloData);
         return helloData;
     }
+
+    /**
+     * 스트리밍 바인딩
+     *
+     * - v1, v2 처럼 바디를 String 으로 복사한 뒤 다시 파싱하지 않음
+     * - InputStream 에서 바로 HelloData 로 읽음 (재사용하는 ObjectReader)
+     * - 로그용 바디는 앞부분만 보관하고, 실제로 로그가 찍힐 때만 문자열로 변환
+     */
+    @ResponseBody
+    @PostMapping("/request-body-json-v6")
+    public String requestBodyJsonV6(InputStream inputStream, HttpServletRequest request) throws IOException {
+        CapturedBody messageBody = streamingJsonReader.newCapture();
+        HelloData helloData = streamingJsonReader.read(inputStream, HelloData.class, messageBody);
+
+        log.info("messageBody={}", messageBody);
+        log.info("username={}, age={}", helloData.getUsername(), helloData.getAge());
+        publish(request, helloData);
+        return "ok";
+    }
+
+    private void publish(HttpServletRequest request, HelloData helloData) {
+        if (!RequestOrigin.isSynthetic(request)) {
+            changeFeed.publish("created", helloData);
+        }
+    }
 }
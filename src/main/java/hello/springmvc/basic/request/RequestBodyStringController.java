@@ -78,4 +78,18 @@ public class RequestBodyStringController {
         log.info("messageBody={}", messageBody);
         return "ok";
     }
+
+    /**
+     * PooledBody
+     *
+     * - 요청 바디를 풀링된 direct 버퍼로 읽음 (PooledBodyArgumentResolver)
+     * - 문자열 변환은 실제로 필요할 때만 (로그 레벨이 꺼져 있으면 변환 안 함)
+     * - hello.request-body.max-size 를 넘는 바디는 413
+     */
+    @ResponseBody
+    @PostMapping("/request-body-string-v5")
+    public String requestBodyStringV5(PooledBody messageBody) {
+        log.info("messageBody={}", messageBody);
+        return "ok";
+    }
 }
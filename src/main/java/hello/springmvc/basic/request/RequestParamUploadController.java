@@ -0,0 +1,86 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * username,age CSV 파일 업로드 (static/basic/hello-form.html 의 파일 폼)
+ * 한 줄씩 /request-param-v1 과 같은 규칙으로 검사
+ *
+ * 요청
+ * - multipart/form-data, 파일 파트 이름 file
+ * - 스프링 multipart 처리 (spring.servlet.multipart.resolve-lazily=true 라서 미뤄짐) 를 건드리지 않고 요청 바디를 바로 읽음
+ *   -> 파일을 임시 파일이나 메모리에 모으지 않음
+ *   -> 이 핸들러에서 요청 파라미터를 읽으면 안 됨 (읽는 순간 톰캣이 바디 전체를 파싱)
+ * - 청크 단위로 CsvUploadProcessor 의 ForkJoinPool 에서 병렬 검사
+ *
+ * 응답 (application/x-ndjson)
+ * - 청크가 끝날 때마다 그 청크의 RowError 들, 그다음 UploadProgress 한 줄 (파일 순서대로)
+ * - 마지막 줄은 done = true
+ * - 형식이 깨지면 (multipart 경계, 너무 긴 줄) 거기까지 처리하고 error 한 줄로 끝냄
+ */
+@Slf4j
+@RestController
+public class RequestParamUploadController {
+
+    private final CsvUploadProcessor csvUploadProcessor;
+    private final ObjectWriter lineWriter;
+
+    public RequestParamUploadController(CsvUploadProcessor csvUploadProcessor, ObjectMapper objectMapper) {
+        this.csvUploadProcessor = csvUploadProcessor;
+        this.lineWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @PostMapping(value = "/request-param-upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void requestParamUpload(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MultipartFileStream file;
+        try {
+            file = MultipartFileStream.open(request.getInputStream(), request.getContentType(), "file");
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (file == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "multipart part 'file' missing");
+        }
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        try {
+            UploadProgress result = csvUploadProcessor.process(file, new CsvUploadProcessor.Listener() {
+                @Override
+                public void onError(RowError error) throws IOException {
+                    writeLine(out, error);
+                }
+
+                @Override
+                public void onProgress(UploadProgress progress) throws IOException {
+                    writeLine(out, progress);
+                    out.flush();
+                }
+            });
+            writeLine(out, result);
+            log.info("upload lines={}, accepted={}, rejected={}", result.getLines(), result.getAccepted(), result.getRejected());
+        } catch (IllegalArgumentException e) {
+            log.info("upload stopped: {}", e.getMessage());
+            writeLine(out, Map.of("error", e.getMessage()));
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        lineWriter.writeValue(out, value);
+        out.write('\n');
+    }
+}
@@ -0,0 +1,13 @@
+package hello.springmvc.basic.request;
+
+import lombok.Data;
+
+/**
+ * CSV 업로드에서 거절된 줄 (line 은 파일 기준 1 부터, 헤더 줄 포함)
+ */
+@Data
+public class RowError {
+
+    private final long line;
+    private final String error;
+}
@@ -0,0 +1,146 @@
+package hello.springmvc.basic.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.MultiValueMap;
+
+import java.util.*;
+
+/**
+ * HttpServletRequest 헤더를 그대로 보여주는 읽기 전용 MultiValueMap
+ *
+ * - 헤더를 새 맵으로 복사하지 않음 (@RequestHeader MultiValueMap 기본 동작은 요청마다 LinkedMultiValueMap 복사)
+ * - getFirst 는 request.getHeader 를 그대로 호출 -> 할당 없음
+ * - get 으로 만든 값 목록은 이름별로 보관해서 같은 헤더를 다시 찾으면 재사용
+ * - 헤더 이름은 대소문자 구분 없음 (서블릿 스펙과 동일)
+ * - toString 은 로그를 실제로 찍을 때만 헤더 전체를 순회
+ */
+public class ServletHeaderMap extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+    private static final int CACHE_SIZE = 8;
+
+    private final HttpServletRequest request;
+    private String[] cachedNames;
+    private List<String>[] cachedValues;
+    private int cached;
+    private Set<Entry<String, List<String>>> entrySet;
+
+    public ServletHeaderMap(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public String getFirst(String key) {
+        return request.getHeader(key);
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        for (int i = 0; i < cached; i++) {
+            if (cachedNames[i].equalsIgnoreCase(name)) {
+                return cachedValues[i];
+            }
+        }
+        Enumeration<String> values = request.getHeaders(name);
+        if (values == null || !values.hasMoreElements()) {
+            return null;
+        }
+        List<String> list = Collections.unmodifiableList(Collections.list(values));
+        cache(name, list);
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cache(String name, List<String> values) {
+        if (cachedNames == null) {
+            cachedNames = new String[CACHE_SIZE];
+            cachedValues = (List<String>[]) new List<?>[CACHE_SIZE];
+        }
+        if (cached < CACHE_SIZE) {
+            cachedNames[cached] = name;
+            cachedValues[cached] = values;
+            cached++;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && request.getHeader(name) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !request.getHeaderNames().hasMoreElements();
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, List<String>>> iterator() {
+                    Enumeration<String> names = request.getHeaderNames();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return names.hasMoreElements();
+                        }
+
+                        @Override
+                        public Entry<String, List<String>> next() {
+                            String name = names.nextElement();
+                            return new SimpleImmutableEntry<>(name, get(name));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (Enumeration<String> names = request.getHeaderNames(); names.hasMoreElements(); names.nextElement()) {
+                        size++;
+                    }
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (Enumeration<String> names = request.getHeaderNames(); names.hasMoreElements(); ) {
+            String name = names.nextElement();
+            map.put(name, request.getHeader(name));
+        }
+        return map;
+    }
+
+    @Override
+    public void add(String key, String value) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void addAll(String key, List<? extends String> values) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void addAll(MultiValueMap<String, String> values) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void set(String key, String value) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+}
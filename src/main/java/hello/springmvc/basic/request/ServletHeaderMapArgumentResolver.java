@@ -0,0 +1,31 @@
+package hello.springmvc.basic.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 헤더 이름 없는 @RequestHeader MultiValueMap 파라미터에 ServletHeaderMap 을 넘겨준다.
+ * 기본 RequestHeaderMapMethodArgumentResolver 보다 앞에 있어야 함 (HeaderMapConfig)
+ */
+public class ServletHeaderMapArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        RequestHeader requestHeader = parameter.getParameterAnnotation(RequestHeader.class);
+        return requestHeader != null && !StringUtils.hasText(requestHeader.name())
+                && MultiValueMap.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return new ServletHeaderMap(webRequest.getNativeRequest(HttpServletRequest.class));
+    }
+}
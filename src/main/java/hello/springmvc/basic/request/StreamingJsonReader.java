@@ -0,0 +1,52 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 요청 바디 스트리밍 바인딩
+ *
+ * - StreamUtils.copyToString -> readValue(String) 처럼 바디를 String 으로 한 번 더 만들지 않고
+ *   InputStream 에서 바로 객체로 읽는다.
+ * - ObjectReader 는 불변 객체라 thread-safe -> 타입별로 한 번만 만들어 재사용
+ * - 원본 바디는 CapturedBody 로 앞부분만 보관 (hello.request-body.capture-bytes)
+ */
+@Component
+public class StreamingJsonReader {
+
+    private final ObjectMapper objectMapper;
+    private final int captureBytes;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public StreamingJsonReader(ObjectMapper objectMapper,
+                               @Value("${hello.request-body.capture-bytes:1024}") int captureBytes) {
+        this.objectMapper = objectMapper;
+        this.captureBytes = captureBytes;
+    }
+
+    public <T> T read(InputStream inputStream, Class<T> type) throws IOException {
+        return readerFor(type).readValue(inputStream);
+    }
+
+    /**
+     * 읽으면서 로그용 바디를 body 에 남긴다.
+     */
+    public <T> T read(InputStream inputStream, Class<T> type, CapturedBody body) throws IOException {
+        return readerFor(type).readValue(body.capture(inputStream));
+    }
+
+    public CapturedBody newCapture() {
+        return new CapturedBody(captureBytes);
+    }
+
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+}
@@ -0,0 +1,33 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+/**
+ * CSV 업로드 진행 상황 (지금까지 처리한 청크 누적), 마지막 줄은 done = true
+ * errorsTruncated 면 거절된 줄 중 일부만 오류 내용을 보냄 (hello.upload.max-errors)
+ */
+@Data
+public class UploadProgress {
+
+    private long bytes;
+    private long lines;
+    private long accepted;
+    private long rejected;
+    private boolean done;
+
+    @JsonIgnore
+    private long reportedErrors;
+
+    public boolean isErrorsTruncated() {
+        return rejected > reportedErrors;
+    }
+
+    void add(long bytes, long lines, long accepted, long rejected, long reportedErrors) {
+        this.bytes += bytes;
+        this.lines += lines;
+        this.accepted += accepted;
+        this.rejected += rejected;
+        this.reportedErrors += reportedErrors;
+    }
+}
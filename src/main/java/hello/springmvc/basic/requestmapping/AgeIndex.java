@@ -0,0 +1,396 @@
+package hello.springmvc.basic.requestmapping;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * UserStore 의 age 보조 인덱스 (age 별 버킷, 버킷 안은 userId 바이트 순으로 정렬된 항목 참조)
+ *
+ * - 키 객체, userId 사본, 리스트 노드 없이 UserStore 항목 배열 (byte[]) 참조만 들고 있음 -> 회원당 약 8 바이트
+ *   (참조 4 + 청크 빈자리, 비교는 항목 안의 userId 바이트로)
+ * - 버킷 = 최대 CHUNK_SIZE 개씩 정렬된 청크들 -> 추가, 삭제가 버킷 크기와 상관없이 청크 하나만 옮김, 찾기는 이진 탐색
+ * - 범위 조회는 시작 버킷과 시작 위치를 O(log n) 에 찾고 거기서부터 순서대로 -> 페이지 비용이 전체 회원 수, 몇 번째 페이지인지와 상관없음
+ * - 추가, 삭제, 교체는 UserStore 가 스트라이프 쓰기 락 안에서 함 -> 같은 회원의 인덱스 변경은 저장소 변경 순서와 같음
+ *   age 가 그대로인 수정도 새 항목으로 교체 (이전 항목 배열을 붙잡고 있지 않도록)
+ * - 다른 스트라이프의 쓰기가 같은 버킷을 바꿀 수 있으므로 버킷마다 StampedLock, 조회는 BATCH 개씩 복사해서 락 밖에서 넘김
+ */
+public class AgeIndex {
+
+    private static final int CHUNK_SIZE = 128;
+    private static final int BATCH = 64;
+
+    private final ConcurrentSkipListMap<Integer, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    void add(int age, byte[] entry) {
+        while (true) {
+            Bucket bucket = buckets.computeIfAbsent(age, key -> new Bucket());
+            long stamp = bucket.lock.writeLock();
+            try {
+                // 비어서 맵에서 빠진 버킷이면 새 버킷으로 다시
+                if (!bucket.removed) {
+                    bucket.add(entry);
+                    return;
+                }
+            } finally {
+                bucket.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    void remove(int age, byte[] entry) {
+        Bucket bucket = buckets.get(age);
+        if (bucket == null) {
+            return;
+        }
+        long stamp = bucket.lock.writeLock();
+        try {
+            bucket.remove(entry);
+            if (bucket.size == 0 && !bucket.removed) {
+                bucket.removed = true;
+                buckets.remove(age, bucket);
+            }
+        } finally {
+            bucket.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 같은 회원, 같은 age 의 항목을 새 항목으로
+     */
+    void replace(int age, byte[] previous, byte[] entry) {
+        Bucket bucket = buckets.get(age);
+        if (bucket == null) {
+            add(age, entry);
+            return;
+        }
+        long stamp = bucket.lock.writeLock();
+        try {
+            if (!bucket.removed) {
+                bucket.replace(previous, entry);
+                return;
+            }
+        } finally {
+            bucket.lock.unlockWrite(stamp);
+        }
+        add(age, entry);
+    }
+
+    /**
+     * age 가 [minAge, maxAge] 인 항목을 (age, userId) 순으로 (after 가 있으면 그 다음부터)
+     */
+    Iterator<byte[]> from(int minAge, int maxAge, Key after) {
+        boolean resume = after != null && after.age >= minAge;
+        int startAge = resume ? after.age : minAge;
+        if (startAge > maxAge) {
+            return new Scan(Collections.emptyIterator(), null);
+        }
+        return new Scan(buckets.subMap(startAge, true, maxAge, true).entrySet().iterator(), resume ? after : null);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Bucket bucket : buckets.values()) {
+            size += bucket.size;
+        }
+        return size;
+    }
+
+    /**
+     * 버킷을 차례로 돌며 BATCH 개씩 복사, 다음 복사는 마지막으로 넘긴 항목의 userId 다음부터 다시 찾음
+     * -> 복사 사이에 버킷이 바뀌어도 순서는 유지 (그 사이 추가, 삭제된 항목은 보일 수도 안 보일 수도 있음)
+     */
+    private static final class Scan implements Iterator<byte[]> {
+
+        private final Iterator<Map.Entry<Integer, Bucket>> buckets;
+        private final byte[][] batch = new byte[BATCH][];
+        private Bucket bucket;
+        private byte[] resume;
+        private int resumeOffset;
+        private int resumeLength;
+        private int size;
+        private int index;
+
+        Scan(Iterator<Map.Entry<Integer, Bucket>> buckets, Key after) {
+            this.buckets = buckets;
+            if (after != null && buckets.hasNext()) {
+                Map.Entry<Integer, Bucket> first = buckets.next();
+                bucket = first.getValue();
+                if (first.getKey() == after.age) {
+                    resume = after.userId;
+                    resumeLength = after.userId.length;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index == size) {
+                if (bucket == null) {
+                    if (!buckets.hasNext()) {
+                        return false;
+                    }
+                    bucket = buckets.next().getValue();
+                    resume = null;
+                }
+                long stamp = bucket.lock.readLock();
+                try {
+                    size = bucket.copyAfter(resume, resumeOffset, resumeLength, batch);
+                } finally {
+                    bucket.lock.unlockRead(stamp);
+                }
+                index = 0;
+                if (size < BATCH) {
+                    bucket = null;
+                }
+                if (size > 0) {
+                    resume = batch[size - 1];
+                    resumeOffset = 2;
+                    resumeLength = UserStore.keyLength(resume);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            byte[] entry = batch[index];
+            batch[index++] = null;
+            return entry;
+        }
+    }
+
+    /**
+     * 한 age 의 항목들, lock 안에서만 읽고 씀 (removed 가 되면 더 넣지 않음)
+     */
+    private static final class Bucket {
+
+        private final StampedLock lock = new StampedLock();
+        private byte[][][] chunks = new byte[4][][];
+        private int[] sizes = new int[4];
+        private int chunkCount;
+        private int size;
+        private boolean removed;
+
+        void add(byte[] entry) {
+            int keyLength = UserStore.keyLength(entry);
+            int c = Math.min(locate(entry, 2, keyLength), chunkCount - 1);
+            if (c < 0) {
+                insertChunk(0);
+                c = 0;
+            }
+            int i = search(chunks[c], sizes[c], entry, 2, keyLength);
+            if (i >= 0) {
+                chunks[c][i] = entry;
+                return;
+            }
+            int position = -i - 1;
+            if (sizes[c] == CHUNK_SIZE) {
+                // 반으로 나누고 들어갈 쪽에 넣음
+                int half = CHUNK_SIZE / 2;
+                insertChunk(c + 1);
+                System.arraycopy(chunks[c], half, chunks[c + 1], 0, CHUNK_SIZE - half);
+                Arrays.fill(chunks[c], half, CHUNK_SIZE, null);
+                sizes[c] = half;
+                sizes[c + 1] = CHUNK_SIZE - half;
+                if (position > half) {
+                    c++;
+                    position -= half;
+                }
+            }
+            byte[][] chunk = chunks[c];
+            System.arraycopy(chunk, position, chunk, position + 1, sizes[c] - position);
+            chunk[position] = entry;
+            sizes[c]++;
+            size++;
+        }
+
+        void remove(byte[] entry) {
+            int keyLength = UserStore.keyLength(entry);
+            int c = locate(entry, 2, keyLength);
+            if (c == chunkCount) {
+                return;
+            }
+            int i = search(chunks[c], sizes[c], entry, 2, keyLength);
+            if (i < 0) {
+                return;
+            }
+            byte[][] chunk = chunks[c];
+            System.arraycopy(chunk, i + 1, chunk, i, sizes[c] - i - 1);
+            chunk[--sizes[c]] = null;
+            size--;
+            if (sizes[c] == 0) {
+                removeChunk(c);
+            } else {
+                merge(c);
+                merge(c - 1);
+            }
+        }
+
+        void replace(byte[] previous, byte[] entry) {
+            int keyLength = UserStore.keyLength(previous);
+            int c = locate(previous, 2, keyLength);
+            int i = c == chunkCount ? -1 : search(chunks[c], sizes[c], previous, 2, keyLength);
+            if (i >= 0) {
+                chunks[c][i] = entry;
+            } else {
+                add(entry);
+            }
+        }
+
+        /**
+         * key 다음 (key 가 null 이면 처음) 부터 최대 out.length 개를 out 에 복사, 복사한 개수를 돌려줌
+         */
+        int copyAfter(byte[] key, int offset, int length, byte[][] out) {
+            int c = 0;
+            int i = 0;
+            if (key != null) {
+                c = locate(key, offset, length);
+                if (c == chunkCount) {
+                    return 0;
+                }
+                i = search(chunks[c], sizes[c], key, offset, length);
+                i = i >= 0 ? i + 1 : -i - 1;
+            }
+            int copied = 0;
+            for (; c < chunkCount && copied < out.length; c++, i = 0) {
+                int count = Math.min(sizes[c] - i, out.length - copied);
+                System.arraycopy(chunks[c], i, out, copied, count);
+                copied += count;
+            }
+            return copied;
+        }
+
+        /**
+         * 마지막 항목이 key 이상인 첫 청크 (없으면 chunkCount)
+         */
+        private int locate(byte[] key, int offset, int length) {
+            int low = 0;
+            int high = chunkCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (compare(chunks[mid][sizes[mid] - 1], key, offset, length) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * 이웃한 두 청크를 합쳐 절반을 넘지 않으면 c + 1 을 c 로 (지운 뒤 거의 빈 청크가 쌓이지 않도록)
+         */
+        private void merge(int c) {
+            if (c < 0 || c + 1 >= chunkCount || sizes[c] + sizes[c + 1] > CHUNK_SIZE / 2) {
+                return;
+            }
+            System.arraycopy(chunks[c + 1], 0, chunks[c], sizes[c], sizes[c + 1]);
+            sizes[c] += sizes[c + 1];
+            removeChunk(c + 1);
+        }
+
+        private void removeChunk(int c) {
+            System.arraycopy(chunks, c + 1, chunks, c, chunkCount - c - 1);
+            System.arraycopy(sizes, c + 1, sizes, c, chunkCount - c - 1);
+            chunks[--chunkCount] = null;
+        }
+
+        private void insertChunk(int c) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+                sizes = Arrays.copyOf(sizes, chunkCount * 2);
+            }
+            System.arraycopy(chunks, c, chunks, c + 1, chunkCount - c);
+            System.arraycopy(sizes, c, sizes, c + 1, chunkCount - c);
+            chunks[c] = new byte[CHUNK_SIZE][];
+            sizes[c] = 0;
+            chunkCount++;
+        }
+
+        /**
+         * Arrays.binarySearch 처럼 찾으면 위치, 없으면 -(들어갈 위치) - 1
+         */
+        private static int search(byte[][] chunk, int size, byte[] key, int offset, int length) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int compare = compare(chunk[mid], key, offset, length);
+                if (compare < 0) {
+                    low = mid + 1;
+                } else if (compare > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * 항목의 userId 바이트와 key[offset, offset + length) 비교 (부호 없는 바이트 순)
+         */
+        private static int compare(byte[] entry, byte[] key, int offset, int length) {
+            return Arrays.compareUnsigned(entry, 2, 2 + UserStore.keyLength(entry), key, offset, offset + length);
+        }
+    }
+
+    /**
+     * 페이지 커서 = 마지막으로 넘긴 회원의 (age, userId) (cursor() 는 [age 4][userId UTF-8] 을 URL-safe Base64 로)
+     */
+    public static final class Key {
+
+        private final int age;
+        private final byte[] userId;
+
+        Key(int age, byte[] userId) {
+            this.age = age;
+            this.userId = userId;
+        }
+
+        /**
+         * UserStore 항목에서 (userId 는 복사)
+         */
+        static Key of(byte[] entry) {
+            int keyLength = UserStore.keyLength(entry);
+            return new Key(UserStore.age(entry), Arrays.copyOfRange(entry, 2, 2 + keyLength));
+        }
+
+        public static Key fromCursor(String cursor) {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length < 4) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+            return new Key(ByteBuffer.wrap(bytes).getInt(), Arrays.copyOfRange(bytes, 4, bytes.length));
+        }
+
+        public String cursor() {
+            byte[] bytes = ByteBuffer.allocate(4 + userId.length).putInt(age).put(userId).array();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+
+        int age() {
+            return age;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && age == other.age && Arrays.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * age + Arrays.hashCode(userId);
+        }
+    }
+}
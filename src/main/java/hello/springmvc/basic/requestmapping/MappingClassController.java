@@ -1,41 +1,137 @@
 package hello.springmvc.basic.requestmapping;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-@RestController(value = "/mapping/users")
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RestController
+@RequestMapping("/mapping/users")
 public class MappingClassController {
 
     /**
-     * 회원 목록 조회    : get   /users
-     * 회원 등록        : POST  /users
-     * 회원 조회        : GET   /users/{userId}
-     * 회원 수정        : PATCH /users/{userId}
-     * 회원 삭제        : DELETE/users/{userId}
+     * 목록 한 페이지 최대 회원 수, 몇 명마다 flush 할지
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int FLUSH_INTERVAL = 100;
+
+    private final UserStore userStore;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong sequence;
+
+    /**
+     * 회원 로그가 있으면 로그에 남은 가장 큰 번호 (삭제된 회원 포함) 다음부터 (재시작 후 같은 userId 를 다시 주지 않도록)
+     */
+    public MappingClassController(UserStore userStore, ObjectMapper objectMapper, ObjectProvider<UserLog> userLogProvider) {
+        this.userStore = userStore;
+        this.objectMapper = objectMapper;
+        UserLog userLog = userLogProvider.getIfAvailable();
+        this.sequence = new AtomicLong(userLog == null ? 0 : userLog.highestUserId());
+    }
+
+    /**
+     * 회원 목록 조회    : GET    /users?minAge=&maxAge=&size=&cursor= (age, userId 순, 다음 페이지는 응답의 next 를 cursor 로)
+     * 회원 등록        : POST   /users -> 201, Location /mapping/users/{userId}
+     * 회원 조회        : GET    /users/{userId}
+     * 회원 수정        : PATCH  /users/{userId} (보낸 항목만)
+     * 회원 삭제        : DELETE /users/{userId} -> 204
+     * 없는 회원은 404
+     */
+
+    /**
+     * age 인덱스로 범위의 시작 키를 찾고 거기서부터 size 명만 읽음 -> 페이지 비용이 전체 회원 수, 페이지 깊이와 상관없음
+     * - 응답 {"users":[{"userId","username","age"}...],"next":커서|null}, 한 명씩 바로 써서 스트리밍
+     * - 커서는 마지막 회원의 (age, userId) 를 Base64 로 감싼 것 (형식에 기대지 말 것), 잘못된 커서는 400
      */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> users(@RequestParam(defaultValue = "" + Integer.MIN_VALUE) int minAge,
+                                                       @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int maxAge,
+                                                       @RequestParam(defaultValue = "100") int size,
+                                                       @RequestParam(required = false) String cursor) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        AgeIndex.Key after = cursor == null ? null : parseCursor(cursor);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                int[] written = new int[1];
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("users");
+                AgeIndex.Key next = userStore.forEachByAge(minAge, maxAge, after, size, (userId, helloData) -> {
+                    try {
+                        generator.writeStartObject();
+                        generator.writeStringField("userId", userId);
+                        generator.writeStringField("username", helloData.getUsername());
+                        generator.writeNumberField("age", helloData.getAge());
+                        generator.writeEndObject();
+                        if (++written[0] % FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeStringField("next", next == null ? null : next.cursor());
+                generator.writeEndObject();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @PostMapping
+    public ResponseEntity<HelloData> addUser(@RequestBody HelloData helloData) {
+        String userId = String.valueOf(sequence.incrementAndGet());
+        userStore.put(userId, helloData);
+        return ResponseEntity.created(URI.create("/mapping/users/" + userId)).body(helloData);
+    }
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<HelloData> findUser(@PathVariable String userId) {
+        return ResponseEntity.of(Optional.ofNullable(userStore.get(userId)));
+    }
+
+    @PatchMapping("/{userId}")
+    public ResponseEntity<HelloData> updateUser(@PathVariable String userId, @RequestBody UserPatch patch) {
+        HelloData updated = userStore.update(userId, helloData -> {
+            if (patch.username() != null) {
+                helloData.setUsername(patch.username());
+            }
+            if (patch.age() != null) {
+                helloData.setAge(patch.age());
+            }
+            return helloData;
+        });
+        return ResponseEntity.of(Optional.ofNullable(updated));
+    }
 
-//    @GetMapping
-//    public String user() {
-//        return "get users";
-//    }
-//
-//    @PostMapping
-//    public String addUser() {
-//        return "post user";
-//    }
-
-//    @GetMapping("/{userId}")
-//    public String findUser(@PathVariable String userId) {
-//        return "get userId = " + userId;
-//    }
-//
-//    @PatchMapping("/{userId}")
-//    public String updateUser(@PathVariable String userId) {
-//        return "update userId = " + userId;
-//    }
-//
-//    @DeleteMapping("/{userId}")
-//    public String deleteUser(@PathVariable String userId) {
-//        return "delete userId = " + userId;
-//    }
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<Void> deleteUser(@PathVariable String userId) {
+        return userStore.remove(userId) == null ? ResponseEntity.notFound().build() : ResponseEntity.noContent().build();
+    }
 
+    private static AgeIndex.Key parseCursor(String cursor) {
+        try {
+            return AgeIndex.Key.fromCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor");
+        }
+    }
 }
@@ -3,12 +3,20 @@ package hello.springmvc.basic.requestmapping;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 public class MappingController {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
+    private final TinyLfuCache<Order.Key, Order> orderCache;
+
+    public MappingController(TinyLfuCache<Order.Key, Order> orderCache) {
+        this.orderCache = orderCache;
+    }
 
     // 이런 식으로 url 을 여러 개 매핑해도 된다.
     @RequestMapping({"/hello-basic", "/hello-go"})
@@ -36,12 +44,13 @@ public class MappingController {
 
     /**
      * PathVariable 사용 다중
+     * 주문은 OrderLoader (느린 백엔드) 앞의 TinyLfuCache 를 거쳐서 조회, 없으면 404
      */
     @GetMapping("/mapping/users/{userId}/orders/{orderId}")
-    public String mappingPath(@PathVariable String userId, @PathVariable Long
+    public ResponseEntity<Order> mappingPath(@PathVariable String userId, @PathVariable Long
             orderId) {
         log.info("mappingPath userId={}, orderId={}", userId, orderId);
-        return "ok";
+        return ResponseEntity.of(Optional.ofNullable(orderCache.get(new Order.Key(userId, orderId))));
     }
 
     /**
@@ -0,0 +1,10 @@
+package hello.springmvc.basic.requestmapping;
+
+/**
+ * GET /mapping/users/{userId}/orders/{orderId} 응답
+ */
+public record Order(String userId, long orderId, String item, int quantity) {
+
+    public record Key(String userId, long orderId) {
+    }
+}
@@ -0,0 +1,29 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * /mapping/users/{userId}/orders/{orderId} 주문 조회 설정
+ *
+ * hello.order-cache.max-entries     : 캐시 최대 항목 수 (0 이면 저장하지 않고 single-flight 만)
+ * hello.orders.simulated-latency    : OrderLoader 빈이 따로 없을 때 쓰는 SimulatedOrderLoader 의 호출당 지연
+ *
+ * 기본 SimulatedOrderLoader 는 빈으로 등록하지 않음 (@ConditionalOnMissingBean 은 자동 설정에서만 순서가 보장됨)
+ * -> 어디서 등록하든 OrderLoader 빈이 있으면 그것을, 없으면 SimulatedOrderLoader 를 씀
+ */
+@Configuration
+public class OrderCacheConfig {
+
+    @Bean
+    public TinyLfuCache<Order.Key, Order> orderCache(ObjectProvider<OrderLoader> orderLoaderProvider,
+                                                     @Value("${hello.orders.simulated-latency:0ms}") Duration latency,
+                                                     @Value("${hello.order-cache.max-entries:10000}") int maxEntries) {
+        OrderLoader orderLoader = orderLoaderProvider.getIfAvailable(() -> new SimulatedOrderLoader(latency));
+        return new TinyLfuCache<>(maxEntries, key -> orderLoader.load(key.userId(), key.orderId()));
+    }
+}
@@ -0,0 +1,40 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.RequestOrigin;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 주문 캐시 통계 조회 (로컬에서만, 앱 시작 이후 누적)
+ *
+ * GET /order-cache -> hitRate, loads (백엔드 호출 수), coalesced (다른 요청의 적재를 기다려서 아낀 호출 수) 등
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderCacheController {
+
+    private final TinyLfuCache<Order.Key, Order> orderCache;
+
+    @GetMapping("/order-cache")
+    public Map<String, Object> orderCache(HttpServletRequest request) {
+        RequestOrigin.requireLoopback(request);
+
+        TinyLfuCache.Stats stats = orderCache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", stats.size());
+        result.put("hits", stats.hits());
+        result.put("misses", stats.misses());
+        result.put("hitRate", Math.round(stats.hitRate() * 1000) / 1000.0);
+        result.put("loads", stats.loads());
+        result.put("loadFailures", stats.loadFailures());
+        result.put("coalesced", stats.coalesced());
+        result.put("coalescedWaitMillis", stats.coalescedWaitNanos() / 1_000_000);
+        result.put("evictions", stats.evictions());
+        return result;
+    }
+}
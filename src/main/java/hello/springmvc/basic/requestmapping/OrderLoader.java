@@ -0,0 +1,11 @@
+package hello.springmvc.basic.requestmapping;
+
+/**
+ * 주문 조회 백엔드 (없으면 null)
+ * 빈으로 등록하면 SimulatedOrderLoader 대신 쓰임
+ */
+@FunctionalInterface
+public interface OrderLoader {
+
+    Order load(String userId, long orderId);
+}
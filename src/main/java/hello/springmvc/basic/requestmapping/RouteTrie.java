@@ -0,0 +1,115 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * URL 경로 세그먼트 트라이
+ *
+ * 패턴을 "/" 로 잘라서 세그먼트마다 노드를 만든다.
+ * - 고정 세그먼트 (users, orders)  -> 문자열 그대로 자식 노드
+ * - 변수 세그먼트 ({userId}, *, ab?c, {id:\d+}) -> 와일드카드 자식 노드 하나
+ * - 나머지 전부 ({*path}, **)        -> 그 노드에서 남은 경로가 뭐든 후보
+ *
+ * 조회 결과는 "경로가 맞을 수도 있는" 후보 집합이다. (정규식, 부분 와일드카드 등은 여기서 따지지 않음)
+ * 최종 판단은 호출하는 쪽이 원래 조건(RequestMappingInfo) 으로 다시 한다.
+ * -> 트라이가 틀릴 일은 후보를 더 많이 주는 쪽으로만 생김, 빠뜨리지는 않음
+ */
+public class RouteTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * 경로와 상관없이 항상 후보 (빈 패턴 등)
+     */
+    private final List<T> always = new ArrayList<>();
+
+    public void add(String pattern, T value) {
+        if (pattern.isEmpty()) {
+            always.add(value);
+            return;
+        }
+        Node<T> node = root;
+        for (String segment : split(pattern)) {
+            if (segment.equals("**") || segment.startsWith("{*")) {
+                node.rest.add(value);
+                return;
+            }
+            if (isVariable(segment)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node<>();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node<>());
+            }
+        }
+        node.terminal.add(value);
+    }
+
+    public Set<T> candidates(String path) {
+        Set<T> result = new LinkedHashSet<>(always);
+        collect(root, split(path), 0, result);
+        return result;
+    }
+
+    private void collect(Node<T> node, String[] segments, int index, Collection<T> result) {
+        result.addAll(node.rest);
+        if (index == segments.length) {
+            result.addAll(node.terminal);
+            return;
+        }
+        String segment = segments[index];
+        // 끝의 "/" 는 매칭 옵션에 따라 무시될 수 있으므로 후보에 포함
+        if (index == segments.length - 1 && segment.isEmpty()) {
+            result.addAll(node.terminal);
+        }
+        Node<T> literal = node.literals.get(segment);
+        if (literal != null) {
+            collect(literal, segments, index + 1, result);
+        }
+        if (node.wildcard != null) {
+            collect(node.wildcard, segments, index + 1, result);
+        }
+    }
+
+    /**
+     * "/mapping/users/1" -> [mapping, users, 1]
+     * 요청 경로는 PathPattern 과 같은 기준으로 맞추기 위해 ;matrix 제거, 퍼센트 디코딩
+     */
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        String[] segments = trimmed.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            int matrix = segment.indexOf(';');
+            if (matrix >= 0) {
+                segment = segment.substring(0, matrix);
+            }
+            if (segment.indexOf('%') >= 0) {
+                segment = UriUtils.decode(segment, StandardCharsets.UTF_8);
+            }
+            segments[i] = segment;
+        }
+        return segments;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.indexOf('{') >= 0 || segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0;
+    }
+
+    private static class Node<T> {
+        private final Map<String, Node<T>> literals = new HashMap<>();
+        private final List<T> terminal = new ArrayList<>();
+        private final List<T> rest = new ArrayList<>();
+        private Node<T> wildcard;
+    }
+}
@@ -0,0 +1,32 @@
+package hello.springmvc.basic.requestmapping;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 로컬용 느린 주문 백엔드 (호출마다 latency 만큼 기다리고 만든 주문을 돌려줌)
+ */
+public class SimulatedOrderLoader implements OrderLoader {
+
+    private final long latencyNanos;
+    private final AtomicLong calls = new AtomicLong();
+
+    public SimulatedOrderLoader(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public Order load(String userId, long orderId) {
+        calls.incrementAndGet();
+        long deadline = System.nanoTime() + latencyNanos;
+        for (long remaining = latencyNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+        return new Order(userId, orderId, "item-" + orderId % 100, (int) (orderId % 5) + 1);
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,311 @@
+package hello.springmvc.basic.requestmapping;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 크기 제한 read-through 캐시 (W-TinyLFU 방식 + 키별 single-flight)
+ *
+ * 조회
+ * - ConcurrentHashMap 에서 락 없이, 적중하면 정책 갱신 (빈도 +1, LRU 맨 앞으로) 은 tryLock 이 될 때만
+ *   -> 경합 중에는 일부 접근 기록을 버림 (적중 경로가 락을 기다리지 않도록)
+ * - 없으면 loading 에 CompletableFuture 를 먼저 올린 스레드만 loader 를 부르고, 같은 키로 온 나머지는 그 결과를 기다림
+ *   -> 느린 백엔드에 같은 키 요청이 몰려도 호출은 한 번 (loader 예외도 기다리던 쪽에 그대로)
+ * - null 결과와 예외는 저장하지 않음
+ *
+ * 저장 (policyLock 안에서)
+ * - 새 항목은 window (전체의 1%) LRU 에 들어감
+ * - window 가 넘치면 window 의 가장 오래된 항목이 main 의 가장 오래된 항목과 경쟁
+ *   -> 최근 접근 빈도 (count-min sketch, 4 비트 카운터) 가 더 높은 쪽만 남김
+ *   -> 한 번 보고 마는 키가 자주 쓰이는 키를 밀어내지 못함
+ * - 빈도는 저장된 키뿐 아니라 조회된 모든 키에 대해 셈, 일정 횟수마다 절반으로 (오래된 인기 키가 계속 버티지 않도록)
+ */
+public class TinyLfuCache<K, V> {
+
+    private final int maximum;
+    private final int windowMaximum;
+    private final Function<? super K, ? extends V> loader;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Node<K, V> window = Node.sentinel();
+    private final Node<K, V> main = Node.sentinel();
+    private int windowSize;
+    private int mainSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder coalescedWaitNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TinyLfuCache(int maximum, Function<? super K, ? extends V> loader) {
+        this.maximum = Math.max(0, maximum);
+        this.windowMaximum = Math.max(1, this.maximum / 100);
+        this.loader = loader;
+        this.sketch = new FrequencySketch(this.maximum);
+    }
+
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            hits.increment();
+            afterRead(node);
+            return node.value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = loading.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // 조회와 putIfAbsent 사이에 다른 스레드가 적재를 끝냈을 수 있음
+            node = data.get(key);
+            V value = node != null ? node.value : load(key);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, flight);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(), coalesced.sum(),
+                coalescedWaitNanos.sum(), evictions.sum(), data.size());
+    }
+
+    private V load(K key) {
+        loads.increment();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            throw e;
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        coalesced.increment();
+        long start = System.nanoTime();
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            coalescedWaitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(node.key);
+            if (node.prev != null) {
+                node.moveToFront(node.inMain ? main : window);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void put(K key, V value) {
+        if (maximum == 0) {
+            return;
+        }
+        policyLock.lock();
+        try {
+            sketch.increment(key);
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                node.moveToFront(node.inMain ? main : window);
+                return;
+            }
+            node = new Node<>(key, value);
+            data.put(key, node);
+            node.linkFront(window);
+            windowSize++;
+            if (windowSize > windowMaximum) {
+                admitFromWindow();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * window 의 가장 오래된 항목을 main 으로 올리거나, main 이 차 있으면 main 의 가장 오래된 항목과 빈도로 겨룸
+     */
+    private void admitFromWindow() {
+        Node<K, V> candidate = window.prev;
+        candidate.unlink();
+        windowSize--;
+        if (mainSize < maximum - windowMaximum) {
+            promote(candidate);
+            return;
+        }
+        Node<K, V> victim = main.prev;
+        if (victim != main && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            victim.unlink();
+            mainSize--;
+            evict(victim);
+            promote(candidate);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void promote(Node<K, V> node) {
+        node.inMain = true;
+        node.linkFront(main);
+        mainSize++;
+    }
+
+    private void evict(Node<K, V> node) {
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+
+    /**
+     * coalesced     : 다른 스레드의 적재를 기다린 조회 수 (그만큼 백엔드 호출을 아낌)
+     * coalescedWait : 그 조회들이 기다린 시간 합계
+     */
+    public record Stats(long hits, long misses, long loads, long loadFailures, long coalesced,
+                        long coalescedWaitNanos, long evictions, int size) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private volatile V value;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+        private boolean inMain;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        static <K, V> Node<K, V> sentinel() {
+            Node<K, V> sentinel = new Node<>(null, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        void linkFront(Node<K, V> head) {
+            prev = head;
+            next = head.next;
+            head.next.prev = this;
+            head.next = this;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+
+        void moveToFront(Node<K, V> head) {
+            unlink();
+            linkFront(head);
+        }
+    }
+
+    /**
+     * count-min sketch, long 하나에 4 비트 카운터 16 개
+     * 키마다 4 개의 long 에서 카운터를 하나씩 골라 최솟값을 빈도로 씀 (최대 15)
+     * 더한 횟수가 sampleSize 에 닿으면 모든 카운터를 절반으로
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximum) {
+            int size = Integer.highestOneBit(Math.max(16, Math.min(maximum, 1 << 24)) * 2 - 1);
+            this.table = new long[size];
+            this.sampleSize = size * 10;
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = 15;
+            for (int i = 0; i < 4; i++) {
+                int shift = (start + i) << 2;
+                frequency = Math.min(frequency, (int) (table[indexOf(hash, i)] >>> shift) & 0xF);
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int shift = (start + i) << 2;
+                if (((table[index] >>> shift) & 0xF) != 0xF) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions >>>= 1;
+            }
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & (table.length - 1);
+        }
+
+        private static int spread(int hash) {
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            return (hash >>> 16) ^ hash;
+        }
+    }
+}
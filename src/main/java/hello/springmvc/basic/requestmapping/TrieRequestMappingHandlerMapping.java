@@ -0,0 +1,131 @@
+package hello.springmvc.basic.requestmapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.condition.PathPatternsRequestCondition;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 경로 트라이로 후보를 먼저 좁히는 RequestMappingHandlerMapping
+ *
+ * 기본 RequestMappingHandlerMapping
+ * - 변수 없는 경로 (/hello-basic) 는 Map 으로 바로 찾음
+ * - 경로 변수가 있는 요청 (/mapping/users/{userId}/orders/{orderId}) 은 등록된 매핑 전체를 하나씩 검사 -> 매핑 수에 비례
+ *
+ * 이 매핑
+ * - 등록된 모든 패턴을 RouteTrie 로 컴파일해두고, 요청 경로 세그먼트 수 만큼만 따라가서 후보를 얻음
+ * - 후보마다 원래 조건 (메소드, params, headers, consumes, produces, 경로) 을 그대로 검사하고
+ *   정렬, 모호한 매핑 검사, 404/405/406/415 처리도 부모 클래스 그대로 사용 -> 매핑 결과는 기존과 같음
+ * - CORS preflight, PathPatternParser 를 쓰지 않는 설정 (AntPathMatcher) 은 부모 클래스에 그대로 맡김
+ */
+public class TrieRequestMappingHandlerMapping extends RequestMappingHandlerMapping {
+
+    /**
+     * null 이면 매핑이 바뀐 것 -> 다음 조회 때 다시 만듦 (매핑을 여러 개 등록할 때 매번 다시 만들지 않도록)
+     */
+    private volatile RouteTrie<Registration> trie;
+    private volatile boolean pathPatterns = true;
+
+    @Override
+    protected synchronized void handlerMethodsInitialized(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        super.handlerMethodsInitialized(handlerMethods);
+        this.trie = null;
+    }
+
+    @Override
+    public synchronized void registerMapping(RequestMappingInfo mapping, Object handler, Method method) {
+        super.registerMapping(mapping, handler, method);
+        this.trie = null;
+    }
+
+    @Override
+    public synchronized void unregisterMapping(RequestMappingInfo mapping) {
+        super.unregisterMapping(mapping);
+        this.trie = null;
+    }
+
+    private synchronized RouteTrie<Registration> rebuild() {
+        if (this.trie != null) {
+            return this.trie;
+        }
+        RouteTrie<Registration> rebuilt = new RouteTrie<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : getHandlerMethods().entrySet()) {
+            PathPatternsRequestCondition patterns = entry.getKey().getPathPatternsCondition();
+            if (patterns == null) {
+                this.pathPatterns = false;
+                return null;
+            }
+            Registration registration = new Registration(entry.getKey(), entry.getValue());
+            for (String pattern : patterns.getPatternValues()) {
+                rebuilt.add(pattern, registration);
+            }
+        }
+        this.trie = rebuilt;
+        return rebuilt;
+    }
+
+    @Override
+    protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request) throws Exception {
+        if (!pathPatterns || CorsUtils.isPreFlightRequest(request)) {
+            return super.lookupHandlerMethod(lookupPath, request);
+        }
+        RouteTrie<Registration> current = this.trie;
+        if (current == null) {
+            current = rebuild();
+            if (current == null) {
+                return super.lookupHandlerMethod(lookupPath, request);
+            }
+        }
+
+        Set<Registration> candidates = current.candidates(lookupPath);
+        List<Match> matches = new ArrayList<>(2);
+        for (Registration candidate : candidates) {
+            RequestMappingInfo match = getMatchingMapping(candidate.info, request);
+            if (match != null) {
+                matches.add(new Match(match, candidate.handlerMethod));
+            }
+        }
+        if (matches.isEmpty()) {
+            Set<RequestMappingInfo> infos = new LinkedHashSet<>();
+            candidates.forEach(candidate -> infos.add(candidate.info));
+            return handleNoMatch(infos, lookupPath, request);
+        }
+
+        Match best = matches.get(0);
+        if (matches.size() > 1) {
+            Comparator<RequestMappingInfo> infoComparator = getMappingComparator(request);
+            Comparator<Match> comparator = (a, b) -> infoComparator.compare(a.info, b.info);
+            matches.sort(comparator);
+            best = matches.get(0);
+            Match second = matches.get(1);
+            if (comparator.compare(best, second) == 0) {
+                throw new IllegalStateException("Ambiguous handler methods mapped for '" + lookupPath + "': {"
+                        + best.handlerMethod.getMethod() + ", " + second.handlerMethod.getMethod() + "}");
+            }
+        }
+
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, best.handlerMethod);
+        handleMatch(best.info, lookupPath, request);
+        return best.handlerMethod;
+    }
+
+    /**
+     * getHandlerMethods() 는 호출할 때마다 Map 을 새로 만들므로 트라이에 핸들러까지 같이 저장
+     */
+    private record Registration(RequestMappingInfo info, HandlerMethod handlerMethod) {
+    }
+
+    private record Match(RequestMappingInfo info, HandlerMethod handlerMethod) {
+    }
+}
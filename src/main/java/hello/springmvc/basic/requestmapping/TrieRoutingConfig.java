@@ -0,0 +1,19 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * hello.routing.trie=true 면 기본 RequestMappingHandlerMapping 대신 TrieRequestMappingHandlerMapping 사용
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.routing.trie", havingValue = "true")
+public class TrieRoutingConfig implements WebMvcRegistrations {
+
+    @Override
+    public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+        return new TrieRequestMappingHandlerMapping();
+    }
+}
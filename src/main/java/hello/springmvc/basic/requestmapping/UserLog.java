@@ -0,0 +1,712 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * UserStore 변경을 남기는 append-only 로그 (재시작해도 회원 유지)
+ *
+ * 파일 (directory 아래)
+ * - users-<시작 위치>.log : 세그먼트, segment-size 크기로 미리 잡아서 mmap, 다 차면 다음 세그먼트
+ *   (다 찬 세그먼트는 sealed 에 넣어 두고 다음 force 때 끝까지 force -> 스트라이프 락을 잡은 append 에서 64MB 를 기다리지 않음)
+ * - snapshot-<로그 위치>.snap : 그 위치까지 반영된 전체 회원 + 지금까지 나온 가장 큰 숫자 userId, 임시 파일에 쓰고 fsync 후 rename
+ * - lock : 같은 디렉터리를 두 프로세스가 열지 못하게 파일 락
+ *
+ * 기록 = [body 길이 4][CRC32C 4][body]
+ * - body = [종류 1 (PUT, DELETE)][userId 길이 2][userId UTF-8] + PUT 이면 [age 4][username 있음 1][username UTF-8]
+ * - 위치는 세그먼트를 이어 붙인 전체 바이트 위치, 길이 0 이면 세그먼트 끝
+ *
+ * 내구성 (sync)
+ * - FSYNC : 쓰는 스레드가 스트라이프 락을 푼 뒤 (sync) 직접 force (비교 기준)
+ *           syncLock 으로 한 번에 하나, 앞 스레드의 force 가 이미 내 위치를 넘겼으면 건너뜀
+ * - GROUP : 쓰기는 flusher 스레드가 자기 위치까지 force 할 때까지 기다림
+ *           flusher 는 그때까지 쓰인 곳까지 한 번에 force -> 동시에 기다리는 쓰기들이 fsync 한 번을 나눠 씀
+ *           force 가 실패하면 기다리던 쓰기에 예외를 넘기고, 점점 길게 쉬었다가 다시 (경고는 FAILURE_LOG_INTERVAL 에 한 번)
+ *           (쓰는 스레드가 직접 force 하는 리더 방식은 코어가 적을 때 락을 넘겨받는 순서대로 한두 개씩만 묶임)
+ * - ASYNC : 기다리지 않음, async-flush-interval 마다 force (그 사이 전원이 나가면 마지막 구간 유실)
+ *
+ * 스냅샷, 정리
+ * - 스냅샷 위치 P 를 먼저 읽고 저장소를 돎 -> P 전의 변경은 모두 반영돼 있고 (append 와 반영이 같은 스트라이프 락 안),
+ *   돌면서 들어온 변경은 P 이후 로그에 있어서 복구할 때 다시 적용됨 (PUT, DELETE 는 여러 번 적용해도 결과가 같음)
+ * - 스냅샷이 내려간 뒤 P 전에서 끝나는 세그먼트와 이전 스냅샷을 지움
+ *
+ * 복구
+ * - CRC 가 맞는 가장 최근 스냅샷을 읽고, 그 위치부터 세그먼트를 다시 적용
+ * - 마지막 세그먼트에서 길이나 CRC 가 깨진 기록을 만나면 거기서 멈추고 (쓰다 만 기록) 그 뒤를 0 으로 지우고 이어 씀
+ * - 마지막이 아닌 세그먼트가 깨져 있으면 시작하지 않음 (이미 force 된 구간이므로 디스크 손상)
+ * - 스냅샷과 다시 적용한 기록 (PUT, DELETE 모두) 에서 가장 큰 숫자 userId 를 highestUserId 로
+ *   -> 삭제된 회원 번호도 기억해서 재시작 후 다시 주지 않음 (스냅샷으로 DELETE 기록이 정리돼도 유지)
+ */
+@Slf4j
+public class UserLog implements UserStore.Journal, Closeable {
+
+    public enum Durability {
+        FSYNC, GROUP, ASYNC
+    }
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER = 8;
+    private static final int SNAPSHOT_MAGIC = 0x55534E51;
+    private static final long MIN_FLUSH_BACKOFF = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_FLUSH_BACKOFF = TimeUnit.SECONDS.toNanos(1);
+    private static final long FAILURE_LOG_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Durability durability;
+    private final FileChannel lockChannel;
+    private final FileLock fileLock;
+
+    /**
+     * appendLock 으로 보호 (active 는 sync, 스냅샷에서 락 없이 읽으므로 volatile)
+     */
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private volatile Segment active;
+    /**
+     * 다 찼지만 아직 force 하지 않은 세그먼트 (appendLock 안에서 넣고 syncLock 안에서 꺼냄)
+     */
+    private final Queue<Segment> sealed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * force 는 syncLock 안에서, GROUP 쓰기는 commitLock 의 committed 를 기다리고 flusher 가 pending 을 기다림
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final AtomicLong durablePosition = new AtomicLong();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition pending = commitLock.newCondition();
+    private final Condition committed = commitLock.newCondition();
+    private volatile RuntimeException flushFailure;
+    private volatile boolean closed;
+    private Thread flusher;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile long snapshotPosition;
+    private final AtomicLong highestUserId = new AtomicLong();
+    private final ScheduledExecutorService scheduler;
+
+    public UserLog(Path directory, int segmentSize, Durability durability) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.durability = durability;
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.fileLock = tryLock(lockChannel);
+        if (fileLock == null) {
+            lockChannel.close();
+            throw new IOException("user log directory is in use: " + directory);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 다른 프로세스가 잡고 있으면 null, 같은 JVM 안에서 이미 잡았으면 OverlappingFileLockException -> 둘 다 사용 중
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 스냅샷 + 로그를 apply 로 다시 적용하고 이어 쓸 준비 (helloData 가 null 이면 삭제), 적용한 기록 수를 돌려줌
+     */
+    public long recover(BiConsumer<String, HelloData> apply) throws IOException {
+        BiConsumer<String, HelloData> replay = (userId, helloData) -> {
+            noteUserId(userId);
+            apply.accept(userId, helloData);
+        };
+        snapshotPosition = loadSnapshot(replay);
+        long records = 0;
+        List<Path> files = list("users-", ".log");
+        long position = snapshotPosition;
+        for (int i = 0; i < files.size(); i++) {
+            boolean last = i == files.size() - 1;
+            Segment segment = Segment.open(files.get(i), baseOf(files.get(i), "users-", ".log"), segmentSize);
+            int offset = 0;
+            while (true) {
+                int length = segment.recordLength(offset);
+                if (length <= 0) {
+                    break;
+                }
+                if (segment.base + offset >= snapshotPosition) {
+                    apply(segment.buffer, offset + HEADER, length, replay);
+                    records++;
+                }
+                offset += HEADER + length;
+            }
+            if (!last && segment.hasGarbageAfter(offset)) {
+                throw new IOException("corrupt user log segment " + files.get(i) + " at offset " + offset);
+            }
+            segment.position = offset;
+            segments.add(segment);
+            position = Math.max(position, segment.base + offset);
+        }
+        if (segments.isEmpty() || position > active().base + active().position) {
+            // 스냅샷보다 뒤에서 시작 (세그먼트가 정리됐거나 없음)
+            segments.add(Segment.create(segmentPath(position), position, segmentSize));
+        }
+        Segment tail = active();
+        tail.clearFrom(tail.position);
+        active = tail;
+        durablePosition.set(tail.base + tail.position);
+        if (durability == Durability.GROUP) {
+            flusher = new Thread(this::flushLoop, "user-log-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+        log.info("user log recovered: snapshot at {}, {} records replayed, {} segment(s), highest user id {}, durability {}",
+                snapshotPosition, records, segments.size(), highestUserId.get(), durability);
+        return records;
+    }
+
+    /**
+     * ASYNC 주기적 force, 스냅샷 주기 등록 (source 는 전체 회원을 넘겨주는 함수, 보통 UserStore::forEach)
+     */
+    public void start(Duration flushInterval, Duration snapshotInterval,
+                      Consumer<BiConsumer<String, HelloData>> source) {
+        if (durability == Durability.ASYNC) {
+            long interval = flushInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        if (!snapshotInterval.isZero()) {
+            long interval = snapshotInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    if (position() > snapshotPosition) {
+                        snapshot(source);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("user log snapshot failed", e);
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public long append(String userId, HelloData helloData) {
+        byte[] record = encode(userId, helloData);
+        if (record.length > segmentSize) {
+            throw new IllegalArgumentException("user record larger than segment: " + record.length + " bytes");
+        }
+        appendLock.lock();
+        try {
+            Segment segment = active;
+            if (segment.position + record.length > segmentSize) {
+                segment = roll(segment);
+            }
+            int start = segment.position;
+            segment.buffer.put(start, record);
+            noteUserId(userId);
+            segment.position += record.length;
+            return segment.base + segment.position;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 기록되거나 복구된 (삭제 포함) 가장 큰 숫자 userId, 없으면 0
+     */
+    public long highestUserId() {
+        return highestUserId.get();
+    }
+
+    /**
+     * FSYNC 는 직접 force, ASYNC 는 기다리지 않음, GROUP 은 flusher 가 position 을 넘길 때까지 기다림
+     */
+    @Override
+    public void sync(long position) {
+        if (durability == Durability.ASYNC || durablePosition.get() >= position) {
+            return;
+        }
+        if (durability == Durability.FSYNC) {
+            syncLock.lock();
+            try {
+                if (durablePosition.get() < position) {
+                    force();
+                }
+            } finally {
+                syncLock.unlock();
+            }
+            return;
+        }
+        commitLock.lock();
+        try {
+            pending.signal();
+            while (durablePosition.get() < position && !closed) {
+                if (flushFailure != null) {
+                    throw flushFailure;
+                }
+                committed.awaitUninterruptibly();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * GROUP flusher: 쓰인 곳이 force 된 곳보다 앞서 있으면 한 번에 force 하고 기다리는 쓰기를 모두 깨움
+     * -> force 하는 동안 쌓인 쓰기는 다음 force 한 번으로 같이 내려감
+     */
+    private void flushLoop() {
+        long backoff = 0;
+        long failures = 0;
+        long lastWarning = 0;
+        while (!closed) {
+            commitLock.lock();
+            try {
+                while (!closed && position() <= durablePosition.get()) {
+                    pending.awaitUninterruptibly();
+                }
+            } finally {
+                commitLock.unlock();
+            }
+            syncLock.lock();
+            try {
+                force();
+                flushFailure = null;
+                if (failures > 0) {
+                    log.info("user log flush recovered after {} failure(s)", failures);
+                }
+                backoff = 0;
+                failures = 0;
+            } catch (RuntimeException e) {
+                flushFailure = e;
+                failures++;
+                backoff = Math.min(MAX_FLUSH_BACKOFF, Math.max(MIN_FLUSH_BACKOFF, backoff * 2));
+                long now = System.nanoTime();
+                if (failures == 1 || now - lastWarning >= FAILURE_LOG_INTERVAL) {
+                    lastWarning = now;
+                    log.warn("user log flush failed ({} in a row), retrying in {} ms", failures,
+                            TimeUnit.NANOSECONDS.toMillis(backoff), e);
+                }
+            } finally {
+                syncLock.unlock();
+            }
+            commitLock.lock();
+            try {
+                committed.signalAll();
+                // 실패했으면 바로 다시 돌지 않고 쉼 (close 는 pending 으로 깨움)
+                long remaining = backoff;
+                while (!closed && remaining > 0) {
+                    remaining = pending.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                commitLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 다 찬 세그먼트들과 지금까지 쓴 곳까지 force (syncLock 안에서)
+     * active 를 먼저 읽음 -> 그 전에 다 찬 세그먼트는 이미 sealed 에 있으므로 durablePosition 이 force 안 된 구간을 넘지 않음
+     */
+    private void force() {
+        Segment segment = active;
+        for (Segment full; (full = sealed.peek()) != null; sealed.poll()) {
+            full.buffer.force();
+            durablePosition.accumulateAndGet(full.base + full.position, Math::max);
+        }
+        int end = segment.position;
+        int from = (int) Math.max(0, Math.min(end, durablePosition.get() - segment.base));
+        if (end > from) {
+            segment.buffer.force(from, end - from);
+        }
+        durablePosition.accumulateAndGet(segment.base + end, Math::max);
+    }
+
+    private void flushQuietly() {
+        syncLock.lock();
+        try {
+            force();
+        } catch (RuntimeException e) {
+            log.warn("user log flush failed", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 다 찬 세그먼트를 sealed 에 넣고 다음 세그먼트로 (appendLock 안에서, force 는 다음 sync, flusher 가)
+     */
+    private Segment roll(Segment full) {
+        long base = full.base + full.position;
+        try {
+            Segment next = Segment.create(segmentPath(base), base, segmentSize);
+            sealed.add(full);
+            segments.add(next);
+            active = next;
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 지금 위치 기준 스냅샷을 쓰고 필요 없어진 세그먼트, 이전 스냅샷을 지움, 스냅샷 위치를 돌려줌
+     */
+    public long snapshot(Consumer<BiConsumer<String, HelloData>> source) throws IOException {
+        snapshotLock.lock();
+        try {
+            long position;
+            long highest;
+            appendLock.lock();
+            try {
+                position = active.base + active.position;
+                highest = highestUserId.get();
+            } finally {
+                appendLock.unlock();
+            }
+
+            Path target = snapshotPath(position);
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            CRC32C crc = new CRC32C();
+            long[] count = new long[1];
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(Channels.newOutputStream(channel), crc), 64 * 1024));
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(position);
+                out.writeLong(highest);
+                source.accept((userId, helloData) -> {
+                    try {
+                        out.write(encode(userId, helloData));
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.writeInt(0);
+                out.flush();
+                out.writeInt((int) crc.getValue());
+                out.flush();
+                channel.force(true);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory();
+
+            for (Path old : list("snapshot-", ".snap")) {
+                if (!old.equals(target)) {
+                    Files.deleteIfExists(old);
+                }
+            }
+            snapshotPosition = position;
+            int removed = compact(position);
+            log.info("user log snapshot at {}: {} users, {} segment(s) removed", position, count[0], removed);
+            return position;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * position 전에서 끝나는 세그먼트 삭제 (다음 세그먼트 시작 <= position, 쓰고 있는 세그먼트는 남김)
+     */
+    private int compact(long position) throws IOException {
+        List<Segment> obsolete = new ArrayList<>();
+        appendLock.lock();
+        try {
+            for (int i = 0; i + 1 < segments.size() && segments.get(i + 1).base <= position; i++) {
+                obsolete.add(segments.get(i));
+            }
+            segments.removeAll(obsolete);
+        } finally {
+            appendLock.unlock();
+        }
+        for (Segment segment : obsolete) {
+            Files.deleteIfExists(segment.path);
+        }
+        return obsolete.size();
+    }
+
+    private long loadSnapshot(BiConsumer<String, HelloData> apply) throws IOException {
+        List<Path> snapshots = list("snapshot-", ".snap");
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path path = snapshots.get(i);
+            if (verifySnapshot(path)) {
+                return readSnapshot(path, apply);
+            }
+            log.warn("user log snapshot {} is corrupt, trying an older one", path);
+        }
+        return 0;
+    }
+
+    private boolean verifySnapshot(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size < 4 + 8 + 8 + 4 + 4) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            byte[] chunk = new byte[64 * 1024];
+            long remaining = size - 4;
+            while (remaining > 0) {
+                int read = in.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    return false;
+                }
+                crc.update(chunk, 0, read);
+                remaining -= read;
+            }
+            return in.readInt() == (int) crc.getValue();
+        }
+    }
+
+    private long readSnapshot(Path path, BiConsumer<String, HelloData> apply) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("not a user log snapshot: " + path);
+            }
+            long position = in.readLong();
+            highestUserId.accumulateAndGet(in.readLong(), Math::max);
+            while (true) {
+                int length = in.readInt();
+                if (length == 0) {
+                    return position;
+                }
+                in.readInt();
+                byte[] body = new byte[length];
+                in.readFully(body);
+                apply(ByteBuffer.wrap(body), 0, length, apply);
+            }
+        } catch (EOFException e) {
+            throw new IOException("truncated user log snapshot: " + path, e);
+        }
+    }
+
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 디렉터리 fsync 를 지원하지 않는 파일 시스템
+        }
+    }
+
+    private Segment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private long position() {
+        Segment segment = active;
+        return segment.base + segment.position;
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("users-%020d.log", base));
+    }
+
+    private Path snapshotPath(long position) {
+        return directory.resolve(String.format("snapshot-%020d.snap", position));
+    }
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (var paths = Files.list(directory)) {
+            return paths.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).sorted().toList();
+        }
+    }
+
+    private static long baseOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    /**
+     * 숫자로만 된 userId (서버가 준 번호) 만 셈
+     */
+    private void noteUserId(String userId) {
+        if (!userId.isEmpty() && userId.length() < 19 && userId.chars().allMatch(Character::isDigit)) {
+            highestUserId.accumulateAndGet(Long.parseLong(userId), Math::max);
+        }
+    }
+
+    static byte[] encode(String userId, HelloData helloData) {
+        byte[] key = userId.getBytes(StandardCharsets.UTF_8);
+        byte[] username = helloData == null || helloData.getUsername() == null ? null
+                : helloData.getUsername().getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 2 + key.length + (helloData == null ? 0 : 4 + 1 + (username == null ? 0 : username.length));
+        ByteBuffer record = ByteBuffer.allocate(HEADER + length);
+        record.putInt(length).putInt(0);
+        record.put(helloData == null ? DELETE : PUT).putShort((short) key.length).put(key);
+        if (helloData != null) {
+            record.putInt(helloData.getAge()).put((byte) (username == null ? 0 : 1));
+            if (username != null) {
+                record.put(username);
+            }
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), HEADER, length);
+        record.putInt(4, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static void apply(ByteBuffer buffer, int offset, int length, BiConsumer<String, HelloData> apply) {
+        byte type = buffer.get(offset);
+        int keyLength = buffer.getShort(offset + 1) & 0xFFFF;
+        byte[] key = new byte[keyLength];
+        buffer.get(offset + 3, key);
+        String userId = new String(key, StandardCharsets.UTF_8);
+        if (type == DELETE) {
+            apply.accept(userId, null);
+            return;
+        }
+        int value = offset + 3 + keyLength;
+        HelloData helloData = new HelloData();
+        helloData.setAge(buffer.getInt(value));
+        if (buffer.get(value + 4) != 0) {
+            byte[] username = new byte[length - (value + 5 - offset)];
+            buffer.get(value + 5, username);
+            helloData.setUsername(new String(username, StandardCharsets.UTF_8));
+        }
+        apply.accept(userId, helloData);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        scheduler.shutdownNow();
+        if (flusher != null) {
+            commitLock.lock();
+            try {
+                pending.signalAll();
+                committed.signalAll();
+            } finally {
+                commitLock.unlock();
+            }
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (active != null) {
+            syncLock.lock();
+            try {
+                force();
+            } finally {
+                syncLock.unlock();
+            }
+        }
+        fileLock.release();
+        lockChannel.close();
+    }
+
+    /**
+     * mmap 한 세그먼트 파일 하나 (position 은 appendLock 안에서만 바뀜)
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final long base;
+        private final MappedByteBuffer buffer;
+        private volatile int position;
+
+        private Segment(Path path, long base, MappedByteBuffer buffer) {
+            this.path = path;
+            this.base = base;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long base, int size) throws IOException {
+            return open(path, base, size);
+        }
+
+        static Segment open(Path path, long base, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                return new Segment(path, base, channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size())));
+            }
+        }
+
+        /**
+         * offset 의 기록이 온전하면 body 길이, 아니면 0
+         */
+        int recordLength(int offset) {
+            if (offset + HEADER > buffer.capacity()) {
+                return 0;
+            }
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > buffer.capacity() - offset - HEADER) {
+                return 0;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(offset + HEADER, length));
+            return (int) crc.getValue() == buffer.getInt(offset + 4) ? length : 0;
+        }
+
+        boolean hasGarbageAfter(int offset) {
+            for (int i = offset; i < buffer.capacity(); i++) {
+                if (buffer.get(i) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 쓰다 만 기록이 남아 있으면 0 으로 (이미 0 인 곳은 쓰지 않음 -> 새 세그먼트의 페이지를 더럽히지 않도록)
+         */
+        void clearFrom(int offset) {
+            boolean cleared = false;
+            for (int i = offset; i < buffer.capacity(); i++) {
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                    cleared = true;
+                }
+            }
+            if (cleared) {
+                buffer.force();
+            }
+        }
+    }
+}
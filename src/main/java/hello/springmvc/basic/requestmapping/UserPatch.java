@@ -0,0 +1,7 @@
+package hello.springmvc.basic.requestmapping;
+
+/**
+ * PATCH /mapping/users/{userId} 바디 (null 인 항목은 바꾸지 않음)
+ */
+public record UserPatch(String username, Integer age) {
+}
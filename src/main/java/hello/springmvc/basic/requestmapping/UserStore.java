@@ -0,0 +1,457 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * userId -> HelloData 메모리 저장소
+ *
+ * 구조
+ * - 해시 상위 비트로 고른 스트라이프 (기본 64개) 마다 StampedLock 하나 + 선형 탐사 해시 테이블
+ * - 항목 하나 = byte[] 하나 [userId 길이 2][userId UTF-8][age 4][username 있음 1][username UTF-8]
+ *   -> String, HelloData 객체, 맵 노드 없이 배열 하나 + 슬롯 (참조 4 + 해시 4)
+ * - 회원당 힙 (UserStoreBenchmark, 회원 1,000,000 명) : 약 74 바이트, 그중 age 인덱스 약 8 (ConcurrentHashMap<String, HelloData> 는 178)
+ * - 항목 배열은 만든 뒤 고치지 않음 (수정 = 새 배열로 교체)
+ *
+ * 읽기
+ * - StampedLock 낙관적 읽기 -> 찾은 뒤 validate 가 통과하면 그대로 사용 (락, CAS 없음)
+ * - 탐색 중에 쓰기가 끼어들면 읽기 락으로 다시 찾음
+ * - 낙관적 탐색은 깨진 상태를 볼 수 있으므로 길이를 먼저 확인하고 비교 (예외 없이 validate 까지 가도록)
+ *
+ * 쓰기
+ * - 스트라이프 쓰기 락, 삭제는 backward shift (묘비 없음), 적재율 0.75 를 넘으면 두 배로
+ * - Journal 이 있으면 스트라이프 락 안에서 테이블을 바꾸기 전에 append, 락을 푼 뒤 sync (디스크 대기 중에 락을 잡고 있지 않도록)
+ *   -> 같은 userId 의 변경은 저널 순서 = 테이블 반영 순서
+ *
+ * age 인덱스
+ * - 테이블을 바꿀 때 같은 쓰기 락 안에서 AgeIndex 도 바꿈 (인덱스는 항목 배열 참조만 들고 있음, 키 사본 없음)
+ * - 범위 조회는 인덱스 항목의 userId 로 저장소에서 다시 읽고, 지금 age 가 항목의 age 와 다르면 (옮겨가는 중) 건너뜀
+ *   -> 같은 회원이 한 번의 페이지 순회에서 두 번 나오지 않음
+ */
+public class UserStore {
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final int MAX_KEY_BYTES = 0xFFFF;
+    private static final int MIN_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final Journal journal;
+    private final AgeIndex ageIndex = new AgeIndex();
+
+    public UserStore(int stripes, int expectedUsers) {
+        this(stripes, expectedUsers, Journal.NONE);
+    }
+
+    public UserStore(int stripes, int expectedUsers, Journal journal) {
+        this.journal = journal;
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripes, 1 << 16)) * 2 - 1);
+        this.stripes = new Stripe[count];
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+        int capacity = tableCapacity(expectedUsers / count);
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    /**
+     * ASCII userId 는 바이트로 바꾸지 않고 문자를 바로 비교 (조회마다 배열을 만들지 않도록)
+     */
+    public HelloData get(String userId) {
+        byte[] key = isAscii(userId) ? null : encodeKey(userId);
+        int hash = hash(userId);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.tryOptimisticRead();
+        byte[] entry = stripe.find(hash, userId, key);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                entry = stripe.find(hash, userId, key);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return entry == null ? null : decode(entry);
+    }
+
+    /**
+     * 저장하고 이전 값을 돌려줌 (없었으면 null)
+     */
+    public HelloData put(String userId, HelloData helloData) {
+        byte[] key = encodeKey(userId);
+        int hash = hash(userId);
+        byte[] entry = encode(key, helloData);
+        Stripe stripe = stripeFor(hash);
+        long position;
+        byte[] previous;
+        long stamp = stripe.lock.writeLock();
+        try {
+            position = journal.append(userId, helloData);
+            previous = stripe.put(hash, key, entry);
+            reindex(previous, entry);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+        journal.sync(position);
+        return previous == null ? null : decode(previous);
+    }
+
+    /**
+     * 복구용: 저널에 남기지 않고 반영 (helloData 가 null 이면 삭제)
+     */
+    public void load(String userId, HelloData helloData) {
+        byte[] key = encodeKey(userId);
+        int hash = hash(userId);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (helloData == null) {
+                reindex(stripe.remove(hash, key), null);
+            } else {
+                byte[] entry = encode(key, helloData);
+                reindex(stripe.put(hash, key, entry), entry);
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 있으면 updater 결과로 바꾸고 새 값을 돌려줌 (없으면 null, updater 는 스트라이프 락 안에서 불림)
+     */
+    public HelloData update(String userId, UnaryOperator<HelloData> updater) {
+        byte[] key = encodeKey(userId);
+        int hash = hash(userId);
+        Stripe stripe = stripeFor(hash);
+        long position;
+        HelloData updated;
+        long stamp = stripe.lock.writeLock();
+        try {
+            byte[] entry = stripe.find(hash, userId, key);
+            if (entry == null) {
+                return null;
+            }
+            updated = updater.apply(decode(entry));
+            position = journal.append(userId, updated);
+            byte[] replacement = encode(key, updated);
+            stripe.put(hash, key, replacement);
+            reindex(entry, replacement);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+        journal.sync(position);
+        return updated;
+    }
+
+    /**
+     * 지우고 이전 값을 돌려줌 (없었으면 null)
+     */
+    public HelloData remove(String userId) {
+        byte[] key = encodeKey(userId);
+        int hash = hash(userId);
+        Stripe stripe = stripeFor(hash);
+        long position;
+        byte[] previous;
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.find(hash, userId, key) == null) {
+                return null;
+            }
+            position = journal.append(userId, null);
+            previous = stripe.remove(hash, key);
+            reindex(previous, null);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+        journal.sync(position);
+        return decode(previous);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /**
+     * 모든 회원 (스트라이프 단위로 일관됨, 도는 동안 다른 스트라이프에 들어온 변경은 보일 수도 안 보일 수도 있음)
+     */
+    public void forEach(BiConsumer<String, HelloData> action) {
+        for (Stripe stripe : stripes) {
+            for (byte[] entry : stripe.copyEntries()) {
+                if (entry != null) {
+                    action.accept(decodeKey(entry), decode(entry));
+                }
+            }
+        }
+    }
+
+    /**
+     * age 가 [minAge, maxAge] 인 회원을 (age, userId) 순으로 after 다음부터 최대 limit 명
+     * 다음 페이지가 있으면 마지막으로 넘긴 회원의 키를 돌려줌 (없으면 null)
+     */
+    public AgeIndex.Key forEachByAge(int minAge, int maxAge, AgeIndex.Key after, int limit,
+                                     BiConsumer<String, HelloData> action) {
+        Iterator<byte[]> entries = ageIndex.from(minAge, maxAge, after);
+        byte[] last = null;
+        int count = 0;
+        while (entries.hasNext()) {
+            byte[] entry = entries.next();
+            if (count == limit) {
+                return AgeIndex.Key.of(last);
+            }
+            String userId = decodeKey(entry);
+            HelloData helloData = get(userId);
+            if (helloData != null && helloData.getAge() == age(entry)) {
+                action.accept(userId, helloData);
+                last = entry;
+                count++;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 스트라이프 쓰기 락 안에서 불림, age 가 그대로여도 인덱스가 새 항목을 가리키도록 교체
+     */
+    private void reindex(byte[] previous, byte[] entry) {
+        if (previous != null && entry != null && age(previous) == age(entry)) {
+            ageIndex.replace(age(entry), previous, entry);
+            return;
+        }
+        if (previous != null) {
+            ageIndex.remove(age(previous), previous);
+        }
+        if (entry != null) {
+            ageIndex.add(age(entry), entry);
+        }
+    }
+
+    private Stripe stripeFor(int hash) {
+        return stripes[stripeShift == 32 ? 0 : hash >>> stripeShift];
+    }
+
+    private static int hash(String userId) {
+        return userId.hashCode() * 0x9E3779B9;
+    }
+
+    private static int tableCapacity(int users) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, users * 4 / 3) * 2 - 1));
+    }
+
+    private static boolean isAscii(String userId) {
+        for (int i = 0; i < userId.length(); i++) {
+            if (userId.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] encodeKey(String userId) {
+        byte[] key = userId.getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("userId too long: " + key.length + " bytes");
+        }
+        return key;
+    }
+
+    private static byte[] encode(byte[] key, HelloData helloData) {
+        byte[] username = helloData.getUsername() == null ? null : helloData.getUsername().getBytes(StandardCharsets.UTF_8);
+        byte[] entry = new byte[2 + key.length + 4 + 1 + (username == null ? 0 : username.length)];
+        entry[0] = (byte) (key.length >>> 8);
+        entry[1] = (byte) key.length;
+        System.arraycopy(key, 0, entry, 2, key.length);
+        int offset = 2 + key.length;
+        INT.set(entry, offset, helloData.getAge());
+        if (username != null) {
+            entry[offset + 4] = 1;
+            System.arraycopy(username, 0, entry, offset + 5, username.length);
+        }
+        return entry;
+    }
+
+    static int keyLength(byte[] entry) {
+        return (entry[0] & 0xFF) << 8 | entry[1] & 0xFF;
+    }
+
+    static int age(byte[] entry) {
+        return (int) INT.get(entry, 2 + keyLength(entry));
+    }
+
+    private static String decodeKey(byte[] entry) {
+        return new String(entry, 2, keyLength(entry), StandardCharsets.UTF_8);
+    }
+
+    private static HelloData decode(byte[] entry) {
+        int offset = 2 + keyLength(entry);
+        HelloData helloData = new HelloData();
+        helloData.setAge((int) INT.get(entry, offset));
+        if (entry[offset + 4] != 0) {
+            helloData.setUsername(new String(entry, offset + 5, entry.length - offset - 5, StandardCharsets.UTF_8));
+        }
+        return helloData;
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private int[] hashes;
+        private byte[][] entries;
+        private volatile int size;
+
+        Stripe(int capacity) {
+            this.hashes = new int[capacity];
+            this.entries = new byte[capacity][];
+        }
+
+        byte[][] copyEntries() {
+            long stamp = lock.readLock();
+            try {
+                return entries.clone();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * key 가 null 이면 ASCII userId 를 문자로 비교
+         * 낙관적 읽기에서도 불리므로 배열은 지역 변수로 한 번만 읽고, 탐사 횟수도 테이블 크기로 제한
+         */
+        byte[] find(int hash, String userId, byte[] key) {
+            int[] hashes = this.hashes;
+            byte[][] entries = this.entries;
+            int mask = Math.min(hashes.length, entries.length) - 1;
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                byte[] entry = entries[i];
+                if (entry == null) {
+                    return null;
+                }
+                if (hashes[i] == hash && (key == null ? matchesAscii(entry, userId) : matches(entry, key))) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        byte[] put(int hash, byte[] key, byte[] entry) {
+            int mask = entries.length - 1;
+            int i = hash & mask;
+            for (; entries[i] != null; i = (i + 1) & mask) {
+                if (hashes[i] == hash && matches(entries[i], key)) {
+                    byte[] previous = entries[i];
+                    entries[i] = entry;
+                    return previous;
+                }
+            }
+            hashes[i] = hash;
+            entries[i] = entry;
+            size++;
+            if (size > entries.length / 4 * 3) {
+                resize(entries.length * 2);
+            }
+            return null;
+        }
+
+        byte[] remove(int hash, byte[] key) {
+            int mask = entries.length - 1;
+            int i = hash & mask;
+            for (; entries[i] != null; i = (i + 1) & mask) {
+                if (hashes[i] == hash && matches(entries[i], key)) {
+                    byte[] previous = entries[i];
+                    shiftBack(i, mask);
+                    size--;
+                    return previous;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * i 를 비우고, 뒤에 이어진 항목 중 i 자리로 당겨야 찾을 수 있는 항목을 당김
+         */
+        private void shiftBack(int i, int mask) {
+            for (int j = (i + 1) & mask; entries[j] != null; j = (j + 1) & mask) {
+                int home = hashes[j] & mask;
+                boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+                if (movable) {
+                    hashes[i] = hashes[j];
+                    entries[i] = entries[j];
+                    i = j;
+                }
+            }
+            entries[i] = null;
+        }
+
+        private void resize(int capacity) {
+            int[] newHashes = new int[capacity];
+            byte[][] newEntries = new byte[capacity][];
+            int mask = capacity - 1;
+            for (int j = 0; j < entries.length; j++) {
+                if (entries[j] != null) {
+                    int i = hashes[j] & mask;
+                    while (newEntries[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    newHashes[i] = hashes[j];
+                    newEntries[i] = entries[j];
+                }
+            }
+            hashes = newHashes;
+            entries = newEntries;
+        }
+
+        private static boolean matchesAscii(byte[] entry, String userId) {
+            int length = userId.length();
+            if (entry.length < 2 + length || keyLength(entry) != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (entry[2 + i] != userId.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matches(byte[] entry, byte[] key) {
+            return entry.length >= 2 + key.length && keyLength(entry) == key.length
+                    && Arrays.equals(entry, 2, 2 + key.length, key, 0, key.length);
+        }
+    }
+
+    /**
+     * 변경 기록 (UserLog)
+     *
+     * - append : 스트라이프 쓰기 락 안에서 불림, 기록 끝 위치를 돌려줌 (helloData 가 null 이면 삭제)
+     * - sync   : 락을 푼 뒤 불림, 설정한 내구성 수준까지 position 이 기록될 때까지 기다림
+     */
+    public interface Journal {
+
+        Journal NONE = new Journal() {
+            @Override
+            public long append(String userId, HelloData helloData) {
+                return 0;
+            }
+
+            @Override
+            public void sync(long position) {
+            }
+        };
+
+        long append(String userId, HelloData helloData);
+
+        void sync(long position);
+    }
+}
@@ -0,0 +1,61 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * /mapping/users 저장소 설정
+ *
+ * hello.user-store.stripes        : 락 스트라이프 수 (2의 거듭제곱으로 올림, 코어 수보다 넉넉하게)
+ * hello.user-store.expected-users : 처음부터 이만큼 들어갈 크기로 테이블을 잡음 (중간에 늘리는 비용 없이)
+ *
+ * hello.user-store.log.enabled              : 변경을 UserLog 에 남기고 시작할 때 복구
+ * hello.user-store.log.directory            : 세그먼트, 스냅샷 디렉터리
+ * hello.user-store.log.durability           : fsync (쓰기마다) | group (동시 쓰기를 모아서) | async (주기적으로)
+ * hello.user-store.log.segment-size         : 세그먼트 파일 크기
+ * hello.user-store.log.async-flush-interval : async 일 때 force 주기
+ * hello.user-store.log.snapshot-interval    : 스냅샷 + 세그먼트 정리 주기 (0 이면 안 함)
+ */
+@Configuration
+public class UserStoreConfig {
+
+    @Value("${hello.user-store.stripes:64}")
+    private int stripes;
+
+    @Value("${hello.user-store.expected-users:1024}")
+    private int expectedUsers;
+
+    @Value("${hello.user-store.log.async-flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${hello.user-store.log.snapshot-interval:10m}")
+    private Duration snapshotInterval;
+
+    @Bean
+    @ConditionalOnProperty(name = "hello.user-store.log.enabled", havingValue = "true")
+    public UserLog userLog(@Value("${hello.user-store.log.directory:data/users}") Path directory,
+                           @Value("${hello.user-store.log.durability:group}") UserLog.Durability durability,
+                           @Value("${hello.user-store.log.segment-size:64MB}") DataSize segmentSize) throws IOException {
+        return new UserLog(directory, (int) segmentSize.toBytes(), durability);
+    }
+
+    @Bean
+    public UserStore userStore(ObjectProvider<UserLog> userLogProvider) throws IOException {
+        UserLog userLog = userLogProvider.getIfAvailable();
+        if (userLog == null) {
+            return new UserStore(stripes, expectedUsers);
+        }
+        UserStore userStore = new UserStore(stripes, expectedUsers, userLog);
+        userLog.recover(userStore::load);
+        userLog.start(flushInterval, snapshotInterval, userStore::forEach);
+        return userStore;
+    }
+}
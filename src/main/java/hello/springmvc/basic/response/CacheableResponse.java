@@ -0,0 +1,21 @@
+package hello.springmvc.basic.response;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 응답이 항상 같은 핸들러에 붙이면, 처음 한 번 직렬화한 바이트를 캐시해서 재사용한다.
+ *
+ * - 캐시 키 : 핸들러 메소드 + Accept 헤더 (Accept 가 같으면 같은 컨버터, 같은 Content-Type 이 선택됨)
+ * - 캐시 히트 : 핸들러 호출, 메시지 컨버터 직렬화 모두 생략하고 저장된 바이트를 그대로 씀
+ * - 강한 ETag 를 붙이고, If-None-Match 가 맞으면 304
+ * - 요청 파라미터, 헤더, 세션 등에 따라 응답이 달라지는 핸들러에는 붙이면 안 됨
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheableResponse {
+}
@@ -0,0 +1,116 @@
+package hello.springmvc.basic.response;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.view.UrlBasedViewResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 렌더링된 뷰 결과 캐시 (ViewResolver)
+ *
+ * - 원래 뷰 리졸버(delegate) 가 찾은 뷰를 감싸서, 렌더링 결과 바이트를 캐시
+ * - 키 : 뷰 이름 + 로케일 + 모델 (모델 값이 전부 String, 숫자 같은 단순 타입일 때만 캐시)
+ *  - ResponseViewController 처럼 model 이 data="hello!" 뿐이면 매번 같은 출력 -> 렌더링 생략
+ *  - 객체가 들어있는 모델은 내용이 바뀌어도 알 수 없으므로 항상 렌더링
+ * - delegate 보다 먼저 조회되도록 order 를 앞에 둠
+ */
+@RequiredArgsConstructor
+public class RenderedViewCache implements ViewResolver, Ordered {
+
+    public record Key(String viewName, Locale locale, Map<String, Object> model) {
+    }
+
+    private final ViewResolver delegate;
+    private final ResponseCache cache;
+    private final Map<String, Map<Locale, View>> views = new ConcurrentHashMap<>();
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) throws Exception {
+        if (viewName.startsWith(UrlBasedViewResolver.REDIRECT_URL_PREFIX)
+                || viewName.startsWith(UrlBasedViewResolver.FORWARD_URL_PREFIX)) {
+            return delegate.resolveViewName(viewName, locale);
+        }
+        Map<Locale, View> byLocale = views.computeIfAbsent(viewName, name -> new ConcurrentHashMap<>());
+        View view = byLocale.get(locale);
+        if (view == null) {
+            View target = delegate.resolveViewName(viewName, locale);
+            if (target == null) {
+                return null;
+            }
+            view = new CachingView(viewName, locale, target);
+            byLocale.put(locale, view);
+        }
+        return view;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @RequiredArgsConstructor
+    private class CachingView implements View {
+
+        private final String viewName;
+        private final Locale locale;
+        private final View target;
+
+        @Override
+        public String getContentType() {
+            return target.getContentType();
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+            Key key = key(model);
+            if (key == null) {
+                target.render(model, request, response);
+                return;
+            }
+
+            ResponseCache.Entry entry = cache.get(key);
+            if (entry == null) {
+                ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+                target.render(model, request, wrapper);
+                if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null) {
+                    cache.put(key, wrapper.getContentAsByteArray(), MediaType.parseMediaType(wrapper.getContentType()));
+                }
+                wrapper.copyBodyToResponse();
+                return;
+            }
+
+            response.setContentType(entry.getContentType().toString());
+            response.setContentLength(entry.getBody().length);
+            response.getOutputStream().write(entry.getBody());
+        }
+
+        private Key key(Map<String, ?> model) {
+            Map<String, Object> snapshot = new HashMap<>();
+            if (model != null) {
+                for (Map.Entry<String, ?> attribute : model.entrySet()) {
+                    if (attribute.getKey().startsWith(BindingResult.MODEL_KEY_PREFIX)) {
+                        continue;
+                    }
+                    Object value = attribute.getValue();
+                    if (value != null && !BeanUtils.isSimpleValueType(value.getClass())) {
+                        return null;
+                    }
+                    snapshot.put(attribute.getKey(), value);
+                }
+            }
+            return new Key(viewName, locale, snapshot);
+        }
+    }
+}
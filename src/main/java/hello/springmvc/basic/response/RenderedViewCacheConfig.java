@@ -0,0 +1,36 @@
+package hello.springmvc.basic.response;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.ViewResolver;
+
+/**
+ * 렌더링된 뷰 캐시 설정 (기본 꺼짐)
+ *
+ * hello.view-cache.enabled     : true 면 thymeleafViewResolver 앞에 RenderedViewCache 등록
+ * hello.view-cache.max-entries : 최대 항목 수
+ * hello.view-cache.max-size    : 저장된 바이트 합계 상한
+ * hello.view-cache.eviction    : 상한을 넘을 때 정책 (none, lru, fifo)
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.view-cache.enabled", havingValue = "true")
+public class RenderedViewCacheConfig {
+
+    @Value("${hello.view-cache.max-entries:100}")
+    private int maxEntries;
+
+    @Value("${hello.view-cache.max-size:1MB}")
+    private DataSize maxSize;
+
+    @Value("${hello.view-cache.eviction:lru}")
+    private ResponseCache.Eviction eviction;
+
+    @Bean
+    public RenderedViewCache renderedViewCache(@Qualifier("thymeleafViewResolver") ViewResolver thymeleafViewResolver) {
+        return new RenderedViewCache(thymeleafViewResolver, new ResponseCache(maxEntries, maxSize.toBytes(), eviction));
+    }
+}
@@ -1,15 +1,25 @@
 package hello.springmvc.basic.response;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import hello.springmvc.basic.HelloData;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @ResponseBody
@@ -60,6 +70,21 @@ import java.io.IOException;
 @RestController // = @Controller + @ResponseBody
 public class ResponseBodyController {
 
+    /**
+     * 스트리밍 응답에서 몇 건마다 flush 해서 청크로 내보낼지
+     */
+    private static final int STREAM_FLUSH_INTERVAL = 1000;
+
+    private final AsyncTaskExecutor taskExecutor;
+    private final ObjectMapper objectMapper;
+
+    public ResponseBodyController(
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+            ObjectMapper objectMapper) {
+        this.taskExecutor = taskExecutor;
+        this.objectMapper = objectMapper;
+    }
+
     /**
      * 서블릿을 직접 다룰 때처럼 HttpServletResponse 객체 통해서 HTTP 메시지 바디에 직접 응답 메시지 전달
      */
@@ -91,7 +116,9 @@ public class ResponseBodyController {
     /**
      * ResponseEntity 반환
      * HTTP 메시지 컨버터 통해 JSON 형식으로 변환되어 반환
+     * 응답이 항상 같으므로 @CacheableResponse -> 직렬화는 처음 한 번만, 이후엔 캐시된 바이트 + ETag
      */
+    @CacheableResponse
     @GetMapping("/response-body-json-v1")
     public ResponseEntity<HelloData> responseBodyJsonV1() {
         HelloData helloData = new HelloData();
@@ -106,6 +133,7 @@ public class ResponseBodyController {
      * 이때 @ResponseStatus 사용해서 응답 코드 설정
      * 다만, 동적으로 응답코드를 변경할 수는 없음.
      */
+    @CacheableResponse
     @ResponseStatus(HttpStatus.OK)
 //    @ResponseBody
     @GetMapping("/response-body-json-v2")
@@ -116,4 +144,67 @@ public class ResponseBodyController {
         return helloData;
     }
 
+    /**
+     * CompletableFuture 반환 -> 비동기 처리
+     * - 요청 스레드는 핸들러가 반환되자마자 풀려나고, 응답은 future 가 완료될 때 작성됨
+     * - HelloData 생성은 applicationTaskExecutor 에서
+     */
+    @GetMapping("/response-body-json-v3")
+    public CompletableFuture<HelloData> responseBodyJsonV3() {
+        return CompletableFuture.supplyAsync(ResponseBodyController::userA, taskExecutor);
+    }
+
+    /**
+     * DeferredResult 반환 -> 비동기 처리
+     * - 결과를 만드는 쪽(다른 스레드, 이벤트 등)에서 setResult() 를 부르면 그때 응답
+     * - 시간 안에 결과가 없으면 503 (spring.mvc.async.request-timeout)
+     */
+    @GetMapping("/response-body-json-v4")
+    public DeferredResult<HelloData> responseBodyJsonV4() {
+        DeferredResult<HelloData> result = new DeferredResult<>();
+        taskExecutor.execute(() -> {
+            try {
+                result.setResult(userA());
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * StreamingResponseBody -> HelloData 를 JSON 배열로 청크 단위 스트리밍
+     * - 요청 스레드는 바로 풀려나고, 바디는 applicationTaskExecutor 에서 작성
+     * - 한 건씩 만들어서 바로 쓰고, STREAM_FLUSH_INTERVAL 건마다 flush
+     *   -> count 가 아무리 커도 메모리 사용량 일정
+     */
+    @GetMapping("/response-body-json-stream")
+    public ResponseEntity<StreamingResponseBody> responseBodyJsonStream(@RequestParam(defaultValue = "1000") long count) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                HelloData helloData = new HelloData();
+                generator.writeStartArray();
+                for (long i = 0; i < count; i++) {
+                    helloData.setUsername("user" + i);
+                    helloData.setAge((int) (i % 100));
+                    generator.writeObject(helloData);
+                    if ((i + 1) % STREAM_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static HelloData userA() {
+        HelloData helloData = new HelloData();
+        helloData.setUsername("userA");
+        helloData.setAge(20);
+        return helloData;
+    }
 }
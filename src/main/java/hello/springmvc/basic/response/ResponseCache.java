@@ -0,0 +1,139 @@
+package hello.springmvc.basic.response;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 직렬화된 응답 바이트 저장소
+ *
+ * - 키는 equals/hashCode 가 맞는 아무 객체 (핸들러 응답은 Key, 렌더링된 뷰는 RenderedViewCache.Key)
+ * - 조회는 ConcurrentHashMap 에서 락 없이
+ * - 크기 제한 (maxEntries, maxBytes) 을 넘으면 저장할 때 정책에 따라 밀어냄
+ *  - Eviction.LRU  : 가장 오래 조회되지 않은 것부터
+ *  - Eviction.FIFO : 가장 먼저 저장된 것부터
+ *  - Eviction.NONE : 밀어내지 않고 새 응답을 저장하지 않음
+ */
+public class ResponseCache {
+
+    public enum Eviction {
+        LRU, FIFO, NONE
+    }
+
+    public record Key(Method handler, MediaType contentType) {
+    }
+
+    public static class Entry {
+        private final byte[] body;
+        private final MediaType contentType;
+        private final String etag;
+        private final long created;
+        private volatile long lastAccess;
+
+        Entry(byte[] body, MediaType contentType, long created) {
+            this.body = body;
+            this.contentType = contentType;
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            this.created = created;
+            this.lastAccess = created;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public MediaType getContentType() {
+            return contentType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Eviction eviction;
+
+    public ResponseCache(int maxEntries, long maxBytes, Eviction eviction) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.eviction = eviction;
+    }
+
+    public Entry get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && eviction == Eviction.LRU) {
+            entry.lastAccess = clock.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * @return 저장된 항목, 크기 제한 때문에 저장하지 못했으면 캐시에 없는 임시 항목
+     */
+    public Entry put(Object key, byte[] body, MediaType contentType) {
+        Entry entry = new Entry(body, contentType, clock.incrementAndGet());
+        if (body.length > maxBytes) {
+            return entry;
+        }
+        synchronized (this) {
+            while (entries.size() >= maxEntries || totalBytes.get() + body.length > maxBytes) {
+                if (!evictOne()) {
+                    return entry;
+                }
+            }
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                totalBytes.addAndGet(-previous.body.length);
+            }
+            totalBytes.addAndGet(body.length);
+        }
+        return entry;
+    }
+
+    private boolean evictOne() {
+        if (eviction == Eviction.NONE || entries.isEmpty()) {
+            return false;
+        }
+        Comparator<Map.Entry<Object, Entry>> order = eviction == Eviction.LRU
+                ? Comparator.comparingLong(e -> e.getValue().lastAccess)
+                : Comparator.comparingLong(e -> e.getValue().created);
+        entries.entrySet().stream().min(order).ifPresent(victim -> {
+            if (entries.remove(victim.getKey(), victim.getValue())) {
+                totalBytes.addAndGet(-victim.getValue().body.length);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 아무것도 저장할 수 없으면 (maxEntries 0) 꺼진 것으로 봄
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0 && maxBytes > 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long totalBytes() {
+        return totalBytes.get();
+    }
+
+    public void clear() {
+        synchronized (this) {
+            entries.clear();
+            totalBytes.set(0);
+        }
+    }
+}
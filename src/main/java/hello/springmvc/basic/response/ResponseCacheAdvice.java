@@ -0,0 +1,109 @@
+package hello.springmvc.basic.response;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * @CacheableResponse 핸들러의 첫 응답을 직렬화해서 저장
+ *
+ * - 선택된 메시지 컨버터로 직접 바이트를 만들어 캐시에 넣고, 같은 바이트를 응답에 씀
+ * - 바디를 이미 썼으므로 null 을 반환해서 원래 컨버터가 다시 쓰지 않게 함
+ * - 200 응답만 저장
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class ResponseCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ResponseCache responseCache;
+    private final ResponseCacheKeys responseCacheKeys;
+    private final ObjectProvider<HttpMessageConverters> messageConverters;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return responseCache.isEnabled() && returnType.hasMethodAnnotation(CacheableResponse.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpServletResponse servletResponse = ((ServletServerHttpResponse) response).getServletResponse();
+        if (body == null || servletResponse.getStatus() != HttpServletResponse.SC_OK) {
+            return body;
+        }
+        ServletServerHttpRequest servletRequest = (ServletServerHttpRequest) request;
+        ResponseCache.Key key = responseCacheKeys.key(returnType.getMethod(), servletRequest.getServletRequest());
+        if (key == null) {
+            return body;
+        }
+        ResponseCacheKeys.varyOnAccept(servletResponse);
+
+        try {
+            CapturedMessage captured = new CapturedMessage();
+            write(body, returnType, selectedContentType, selectedConverterType, captured);
+            MediaType contentType = captured.getHeaders().getContentType();
+            ResponseCache.Entry entry = responseCache.put(key, captured.body.toByteArray(),
+                    contentType != null ? contentType : selectedContentType);
+
+            if (new ServletWebRequest(servletRequest.getServletRequest(), servletResponse).checkNotModified(entry.getEtag())) {
+                return null;
+            }
+            response.getHeaders().setETag(entry.getEtag());
+            response.getHeaders().setContentType(entry.getContentType());
+            response.getHeaders().setContentLength(entry.getBody().length);
+            response.getBody().write(entry.getBody());
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void write(Object body, MethodParameter returnType, MediaType contentType,
+                       Class<? extends HttpMessageConverter<?>> converterType, HttpOutputMessage message) throws IOException {
+        HttpMessageConverter converter = messageConverters.getObject().getConverters().stream()
+                .filter(candidate -> candidate.getClass() == converterType)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("no converter " + converterType));
+        if (converter instanceof GenericHttpMessageConverter generic) {
+            generic.write(body, ResponseCacheKeys.genericType(returnType), contentType, message);
+        } else {
+            converter.write(body, contentType, message);
+        }
+    }
+
+    private static class CapturedMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
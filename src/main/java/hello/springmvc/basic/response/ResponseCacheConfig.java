@@ -0,0 +1,58 @@
+package hello.springmvc.basic.response;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * @CacheableResponse 응답 캐시 설정
+ *
+ * hello.response-cache.enabled     : false 면 인터셉터를 등록하지 않고, 어드바이스도 저장하지 않음
+ * hello.response-cache.max-entries : 최대 항목 수
+ * hello.response-cache.max-size    : 저장된 바이트 합계 상한
+ * hello.response-cache.eviction    : 상한을 넘을 때 정책 (none, lru, fifo)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<HttpMessageConverters> messageConverters;
+
+    @Value("${hello.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hello.response-cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${hello.response-cache.max-size:10MB}")
+    private DataSize maxSize;
+
+    @Value("${hello.response-cache.eviction:none}")
+    private ResponseCache.Eviction eviction;
+
+    @Bean
+    public ResponseCache responseCache() {
+        if (!enabled) {
+            return new ResponseCache(0, 0, ResponseCache.Eviction.NONE);
+        }
+        return new ResponseCache(maxEntries, maxSize.toBytes(), eviction);
+    }
+
+    @Bean
+    public ResponseCacheKeys responseCacheKeys() {
+        return new ResponseCacheKeys(messageConverters);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (enabled) {
+            registry.addInterceptor(new ResponseCacheInterceptor(responseCache(), responseCacheKeys()));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package hello.springmvc.basic.response;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * @CacheableResponse 핸들러 앞에서 캐시 조회
+ * - 히트면 304 또는 저장된 바이트를 바로 쓰고 핸들러 호출 안 함 (return false)
+ * - 미스면 그대로 진행 -> ResponseCacheAdvice 가 직렬화 결과를 저장
+ * - 키는 Accept 로 협상된 미디어 타입 기준 (ResponseCacheKeys)
+ */
+@RequiredArgsConstructor
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final ResponseCache responseCache;
+    private final ResponseCacheKeys responseCacheKeys;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !handlerMethod.hasMethodAnnotation(CacheableResponse.class)) {
+            return true;
+        }
+        ResponseCache.Key key = responseCacheKeys.key(handlerMethod.getMethod(), request);
+        ResponseCache.Entry entry = key == null ? null : responseCache.get(key);
+        if (entry == null) {
+            return true;
+        }
+
+        ResponseCacheKeys.varyOnAccept(response);
+        if (new ServletWebRequest(request, response).checkNotModified(entry.getEtag())) {
+            return false;
+        }
+        response.setHeader(HttpHeaders.ETAG, entry.getEtag());
+        response.setContentType(entry.getContentType().toString());
+        response.setContentLength(entry.getBody().length);
+        response.getOutputStream().write(entry.getBody());
+        return false;
+    }
+}
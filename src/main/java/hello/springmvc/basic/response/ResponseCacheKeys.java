@@ -0,0 +1,129 @@
+package hello.springmvc.basic.response;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @CacheableResponse 캐시 키 = (핸들러, 협상된 미디어 타입)
+ *
+ * - Accept 문자열을 그대로 키로 쓰면 "application/json", "application/json;q=0.9" 처럼 문자열마다 같은 바이트가 따로 쌓임
+ * - 핸들러가 낼 수 있는 타입 (produces, 없으면 반환 타입을 쓸 수 있는 컨버터) 과 Accept 로
+ *   AbstractMessageConverterMethodProcessor 와 같은 순서로 하나를 고름 -> 인터셉터 (조회) 와 어드바이스 (저장) 가 같은 키
+ * - 고를 수 없으면 (잘못된 Accept, 맞는 타입 없음) null -> 캐시하지 않고 기본 처리 (400, 406)
+ * - 응답이 Accept 에 따라 달라지므로 Vary: Accept
+ */
+public class ResponseCacheKeys {
+
+    private static final List<MediaType> ALL_APPLICATION_MEDIA_TYPES = List.of(MediaType.ALL, new MediaType("application"));
+
+    private final ContentNegotiationStrategy negotiationStrategy = new HeaderContentNegotiationStrategy();
+    private final ObjectProvider<HttpMessageConverters> messageConverters;
+    private final ConcurrentMap<Method, List<MediaType>> writableTypes = new ConcurrentHashMap<>();
+
+    public ResponseCacheKeys(ObjectProvider<HttpMessageConverters> messageConverters) {
+        this.messageConverters = messageConverters;
+    }
+
+    public ResponseCache.Key key(Method handler, HttpServletRequest request) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = negotiationStrategy.resolveMediaTypes(new ServletWebRequest(request));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        MediaType selected = select(acceptable, producibleTypes(handler, request));
+        return selected == null ? null : new ResponseCache.Key(handler, selected);
+    }
+
+    static void varyOnAccept(HttpServletResponse response) {
+        for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+            if (vary.contains(HttpHeaders.ACCEPT)) {
+                return;
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * ResponseEntity<HelloData> 면 HelloData (AbstractMessageConverterMethodProcessor 와 같은 규칙)
+     */
+    static Type genericType(MethodParameter returnType) {
+        if (HttpEntity.class.isAssignableFrom(returnType.getParameterType())) {
+            return ResolvableType.forType(returnType.getGenericParameterType()).getGeneric().getType();
+        }
+        return returnType.getGenericParameterType();
+    }
+
+    private List<MediaType> producibleTypes(Method handler, HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE) instanceof Set<?> produces
+                && !produces.isEmpty()) {
+            List<MediaType> types = new ArrayList<>();
+            for (Object type : produces) {
+                types.add((MediaType) type);
+            }
+            return types;
+        }
+        return writableTypes.computeIfAbsent(handler, this::writableTypes);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<MediaType> writableTypes(Method handler) {
+        Type targetType = genericType(new MethodParameter(handler, -1));
+        Class<?> valueClass = ResolvableType.forType(targetType).resolve(Object.class);
+        List<MediaType> types = new ArrayList<>();
+        for (HttpMessageConverter converter : messageConverters.getObject().getConverters()) {
+            boolean writable = converter instanceof GenericHttpMessageConverter generic
+                    ? generic.canWrite(targetType, valueClass, null)
+                    : converter.canWrite(valueClass, null);
+            if (writable) {
+                types.addAll(converter.getSupportedMediaTypes(valueClass));
+            }
+        }
+        return types.isEmpty() ? List.of(MediaType.ALL) : types;
+    }
+
+    private static MediaType select(List<MediaType> acceptable, List<MediaType> producible) {
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            for (MediaType candidate : producible) {
+                if (requested.isCompatibleWith(candidate)) {
+                    MediaType withQuality = candidate.copyQualityValue(requested);
+                    compatible.add(requested.isLessSpecific(withQuality) ? withQuality : requested);
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        for (MediaType mediaType : compatible) {
+            if (mediaType.isConcrete()) {
+                return mediaType.removeQualityValue();
+            }
+            if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
+                return MediaType.APPLICATION_OCTET_STREAM;
+            }
+        }
+        return null;
+    }
+}
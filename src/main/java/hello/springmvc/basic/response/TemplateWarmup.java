@@ -0,0 +1,77 @@
+package hello.springmvc.basic.response;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시작할 때 모든 템플릿을 한 번씩 렌더링해둔다.
+ *
+ * - 템플릿 파싱 결과는 Thymeleaf 템플릿 캐시에 남음 (spring.thymeleaf.cache=true 일 때)
+ * - 톰캣이 요청을 받기 전 (모든 싱글톤 생성 직후) 에 실행 -> 첫 요청이 파싱 비용을 내지 않음
+ * - 모델 없이 렌더링하므로 변수가 꼭 필요한 템플릿은 실패할 수 있음 -> 경고만 남기고 계속
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "hello.view.warmup", havingValue = "true", matchIfMissing = true)
+public class TemplateWarmup implements SmartInitializingSingleton {
+
+    private final ITemplateEngine templateEngine;
+    private final ThymeleafProperties thymeleafProperties;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String prefix = thymeleafProperties.getPrefix();
+        String suffix = thymeleafProperties.getSuffix();
+        long start = System.nanoTime();
+        int count = 0;
+        try {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            String location = prefix.replace("classpath:", "classpath*:");
+            List<String> roots = new ArrayList<>();
+            for (Resource root : resolver.getResources(location)) {
+                roots.add(root.getURI().toString());
+            }
+            for (Resource template : resolver.getResources(location + "**/*" + suffix)) {
+                String name = templateName(roots, template.getURI().toString(), suffix);
+                if (name == null) {
+                    continue;
+                }
+                try {
+                    templateEngine.process(name, new Context(), Writer.nullWriter());
+                    count++;
+                } catch (RuntimeException e) {
+                    log.warn("template warm-up failed: {} ({})", name, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("template warm-up skipped: {}", e.getMessage());
+        }
+        log.info("template warm-up: {} templates in {}ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * .../templates/response/hello.html -> response/hello
+     */
+    private static String templateName(List<String> roots, String uri, String suffix) {
+        for (String root : roots) {
+            if (uri.startsWith(root)) {
+                return uri.substring(root.length(), uri.length() - suffix.length());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package hello.springmvc.feed;
+
+/**
+ * 링 버퍼 한 칸
+ *
+ * frame 은 발행할 때 한 번만 만든 SSE 프레임 ("id: ..\nevent: ..\ndata: ..\n\n", UTF-8)
+ * -> 구독자마다 직렬화하지 않고 모두 같은 바이트를 씀 (수정하면 안 됨)
+ */
+public record ChangeEvent(long sequence, byte[] frame) {
+}
@@ -0,0 +1,381 @@
+package hello.springmvc.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 변경 이벤트를 링 버퍼 하나에 발행하고 모든 구독자에게 나눠 보냄
+ *
+ * 발행 (요청 스레드)
+ * - 데이터를 한 번 직렬화해서 SSE 프레임으로 링에 씀, 디스패처가 자고 있으면 깨움 -> 구독자 수와 상관없이 O(1), 기다리지 않음
+ * - SSE id 는 "epoch-sequence", epoch 는 뜰 때마다 새로 정함
+ *   -> 재시작 전 id 로 다시 연결한 클라이언트가 새 프로세스의 관계없는 이벤트로 이어 붙지 않음
+ *
+ * 전달
+ * - 구독자마다 자기 커서만 들고 있음 (이벤트 복사본이나 구독자별 큐 없음)
+ * - 디스패처 스레드 하나가 깨어날 때마다 구독자를 훑어서 밀린 이벤트가 있는 구독자만 sender 풀에 맡김
+ *   -> 연결마다 스레드를 두지 않음, 쉬는 연결은 Subscription 객체 하나와 톰캣 비동기 연결뿐
+ * - sender 는 구독자 하나씩 batchSize 개까지 쓰고 다음 구독자에게 양보 (구독자당 동시에 하나만 돌도록 scheduled 로 막음)
+ * - 채널이 더 못 받으면 (논블로킹 쓰기, isReady false) 바로 손을 떼고, 다시 쓸 수 있다고 알려줄 때 이어서 씀
+ *   -> 느린 클라이언트가 sender 스레드도 붙잡지 않음
+ *
+ * 느린 구독자
+ * - 링 한 바퀴 넘게 밀리면 (안 읽은 이벤트가 덮어써짐) slowConsumer 에 따라
+ *   - SKIP : 놓친 이벤트를 lagged 이벤트 하나 ({"missed":n}) 로 합치고 최신 위치로 건너뜀
+ *   - DROP : 연결을 닫음 (EventSource 는 Last-Event-ID 로 다시 연결)
+ * - stallTimeout 동안 한 바이트도 못 보낸 연결은 닫음 (읽지 않는 클라이언트, 끊긴 줄 모르는 연결)
+ * - heartbeat 마다 그동안 쓴 게 없는 연결에 SSE 주석을 보냄 (프록시 유휴 타임아웃, 끊긴 연결 감지)
+ */
+@Slf4j
+public class ChangeFeed {
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ChangeRing ring;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ObjectWriter writer;
+    private final SlowConsumer slowConsumer;
+    private final int batchSize;
+    private final int maxSubscribers;
+    private final long heartbeatNanos;
+    private final long stallTimeoutNanos;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+    private final Thread dispatcher;
+    private volatile boolean signalled;
+    private volatile boolean running = true;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+
+    public ChangeFeed(ObjectMapper objectMapper, int capacity, int senderThreads, int batchSize, SlowConsumer slowConsumer,
+                      long heartbeatNanos, long stallTimeoutNanos, int maxSubscribers) {
+        this.ring = new ChangeRing(capacity);
+        this.writer = objectMapper.writer();
+        this.slowConsumer = slowConsumer;
+        this.batchSize = batchSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatNanos = heartbeatNanos;
+        this.stallTimeoutNanos = stallTimeoutNanos;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "change-feed-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.dispatcher = new Thread(this::dispatchLoop, "change-feed-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * type 이벤트로 data 를 발행하고 sequence (SSE id) 를 돌려줌
+     */
+    public long publish(String type, Object data) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("cannot serialize change event: " + e.getOriginalMessage(), e);
+        }
+        ChangeEvent event = ring.publish(sequence -> frame(eventId(sequence), type, json));
+        if (!signalled) {
+            signalled = true;
+            LockSupport.unpark(dispatcher);
+        }
+        return event.sequence();
+    }
+
+    /**
+     * 새 구독, lastEventId 가 이번 epoch 의 id 면 그다음 이벤트부터 (링에서 이미 밀려났으면 lagged)
+     * 없거나 다른 epoch (재시작 전), 형식이 틀린 id 면 지금 이후 이벤트부터
+     * 채널이 처음 쓸 수 있게 됐을 때 channel 쪽에서 Subscription.writable() 을 불러야 전달이 시작됨
+     */
+    public Subscription subscribe(Channel channel, String lastEventId) {
+        long head = ring.head();
+        long last = sequenceOf(lastEventId);
+        long cursor = last >= 0 && last < head ? last + 1 : head;
+        Subscription subscription = new Subscription(channel, cursor);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public boolean isFull() {
+        return subscriptions.size() >= maxSubscribers;
+    }
+
+    public Stats stats() {
+        return new Stats(subscriptions.size(), ring.head(), delivered.sum(), skipped.sum(), missed.sum(), dropped.sum(),
+                stalled.sum());
+    }
+
+    public void close() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        subscriptions.forEach(Subscription::close);
+        senders.shutdown();
+    }
+
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * 이번 epoch 의 id 가 아니면 -1
+     */
+    private long sequenceOf(String eventId) {
+        if (eventId == null || !eventId.startsWith(epoch) || eventId.length() <= epoch.length() + 1
+                || eventId.charAt(epoch.length()) != '-') {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] frame(String id, String type, byte[] json) {
+        byte[] head = ("id: " + id + "\nevent: " + type + "\ndata: ").getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[head.length + json.length + 2];
+        System.arraycopy(head, 0, frame, 0, head.length);
+        System.arraycopy(json, 0, frame, head.length, json.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        return frame;
+    }
+
+    private static byte[] laggedFrame(long missed) {
+        return ("event: lagged\ndata: {\"missed\":" + missed + "}\n\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 발행 신호가 오거나 heartbeat 주기가 되면 구독자를 한 번 훑음 (그 사이 여러 번 발행돼도 한 번만)
+     */
+    private void dispatchLoop() {
+        long nextBeat = System.nanoTime() + heartbeatNanos;
+        while (running) {
+            long now = System.nanoTime();
+            boolean beat = now - nextBeat >= 0;
+            if (!signalled && !beat) {
+                LockSupport.parkNanos(this, nextBeat - now);
+                continue;
+            }
+            // 훑기 전에 내려야 훑는 동안 들어온 발행이 다시 깨움
+            signalled = false;
+            if (beat) {
+                nextBeat = now + heartbeatNanos;
+            }
+            for (Subscription subscription : subscriptions) {
+                try {
+                    subscription.poll(now, beat);
+                } catch (RuntimeException e) {
+                    log.warn("change feed dispatch failed", e);
+                    subscription.close();
+                }
+            }
+        }
+    }
+
+    public enum SlowConsumer {
+        SKIP, DROP
+    }
+
+    /**
+     * 구독자 연결 (SseChannel), 한 번에 한 스레드만 씀
+     * isReady() 가 false 를 돌려준 뒤에는 다시 쓸 수 있게 됐을 때 Subscription.writable() 을 불러야 함
+     */
+    public interface Channel {
+
+        boolean isReady();
+
+        void write(byte[] bytes) throws IOException;
+
+        void flush() throws IOException;
+
+        void close();
+    }
+
+    public final class Subscription {
+
+        private final Channel channel;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean blocked = true;
+        private volatile long blockedSince = System.nanoTime();
+        // 처음 쓸 수 있게 되면 바로 주석 하나를 보냄 -> 응답 헤더가 나가서 클라이언트가 연결된 걸 앎
+        private volatile boolean heartbeatDue = true;
+        private volatile long lastWrite = System.nanoTime();
+
+        private Subscription(Channel channel, long cursor) {
+            this.channel = channel;
+            this.cursor = cursor;
+        }
+
+        /**
+         * 채널이 (다시) 쓸 수 있게 됨
+         */
+        public void writable() {
+            blocked = false;
+            schedule();
+        }
+
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+                channel.close();
+            }
+        }
+
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        private void poll(long now, boolean beat) {
+            if (blocked) {
+                if (beat && now - blockedSince > stallTimeoutNanos) {
+                    stalled.increment();
+                    close();
+                }
+                return;
+            }
+            if (beat && now - lastWrite >= heartbeatNanos / 2) {
+                heartbeatDue = true;
+            }
+            if (heartbeatDue || hasPending()) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (closed.get() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private void run() {
+            try {
+                deliver();
+            } catch (IOException | RuntimeException e) {
+                log.debug("change feed subscriber closed: {}", e.toString());
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // 도는 동안 들어온 이벤트나 writable() 은 scheduled 때문에 무시됐을 수 있음
+            if (!closed.get() && !blocked && (heartbeatDue || hasPending())) {
+                schedule();
+            }
+        }
+
+        private boolean hasPending() {
+            ChangeEvent event = ring.get(cursor);
+            return event != null && event.sequence() >= cursor;
+        }
+
+        private void deliver() throws IOException {
+            int written = 0;
+            int events = 0;
+            while (written < batchSize) {
+                ChangeEvent event = ring.get(cursor);
+                if (event == null || event.sequence() < cursor) {
+                    break;
+                }
+                if (!ready()) {
+                    break;
+                }
+                if (event.sequence() > cursor) {
+                    if (!lagged()) {
+                        return;
+                    }
+                } else {
+                    channel.write(event.frame());
+                    cursor++;
+                    events++;
+                }
+                written++;
+            }
+            if (written == 0) {
+                if (!heartbeatDue || !ready()) {
+                    return;
+                }
+                channel.write(HEARTBEAT);
+            }
+            heartbeatDue = false;
+            lastWrite = System.nanoTime();
+            delivered.add(events);
+            // 못 받는 상태면 남은 바이트는 컨테이너가 마저 보내고 writable() 로 알려줌
+            if (ready()) {
+                channel.flush();
+            }
+        }
+
+        /**
+         * writable() 이 isReady() 뒤에 와도 놓치지 않도록 blocked 를 먼저 세움
+         */
+        private boolean ready() {
+            blockedSince = System.nanoTime();
+            blocked = true;
+            if (!channel.isReady()) {
+                return false;
+            }
+            blocked = false;
+            return true;
+        }
+
+        /**
+         * 링 한 바퀴 넘게 밀림, 계속 보낼 거면 true
+         */
+        private boolean lagged() throws IOException {
+            long head = ring.head();
+            missed.add(head - cursor);
+            if (slowConsumer == SlowConsumer.DROP) {
+                dropped.increment();
+                close();
+                return false;
+            }
+            skipped.increment();
+            channel.write(laggedFrame(head - cursor));
+            cursor = head;
+            return true;
+        }
+    }
+
+    /**
+     * published : 지금까지 발행한 이벤트 수
+     * delivered : 구독자에게 쓴 이벤트 수 (구독자 수만큼 곱해짐)
+     * skipped   : SKIP 으로 건너뛴 횟수, missed 는 그때 놓친 이벤트 수 합계
+     * dropped   : DROP 으로 닫은 연결 수, stalled 는 stallTimeout 으로 닫은 연결 수
+     */
+    public record Stats(int subscribers, long published, long delivered, long skipped, long missed, long dropped,
+                        long stalled) {
+    }
+}
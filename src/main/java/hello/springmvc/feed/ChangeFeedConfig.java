@@ -0,0 +1,53 @@
+package hello.springmvc.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * GET /changes 변경 피드 설정
+ *
+ * hello.change-feed.capacity        : 링 버퍼 크기 (2의 거듭제곱으로 올림), 구독자가 이만큼 밀리면 느린 구독자로 봄
+ * hello.change-feed.sender-threads  : 구독자에게 쓰는 스레드 수 (0 이면 코어 수), 연결 수와 상관없음
+ * hello.change-feed.batch-size      : 구독자 하나에 한 번에 쓰는 이벤트 수 (넘으면 다른 구독자에게 양보)
+ * hello.change-feed.slow-consumer   : skip (놓친 이벤트를 lagged 하나로 합치고 최신으로) | drop (연결을 닫음)
+ * hello.change-feed.heartbeat       : 쓴 게 없는 연결에 SSE 주석을 보내는 주기
+ * hello.change-feed.stall-timeout   : 이 시간 동안 못 보낸 연결은 닫음
+ * hello.change-feed.max-subscribers : 구독자 상한 (넘으면 503)
+ *
+ * sender 풀은 빈으로 등록하지 않음 (Executor 빈이 있으면 applicationTaskExecutor 자동 설정이 빠짐)
+ */
+@Configuration
+public class ChangeFeedConfig {
+
+    @Value("${hello.change-feed.capacity:4096}")
+    private int capacity;
+
+    @Value("${hello.change-feed.sender-threads:0}")
+    private int senderThreads;
+
+    @Value("${hello.change-feed.batch-size:256}")
+    private int batchSize;
+
+    @Value("${hello.change-feed.slow-consumer:skip}")
+    private ChangeFeed.SlowConsumer slowConsumer;
+
+    @Value("${hello.change-feed.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${hello.change-feed.stall-timeout:30s}")
+    private Duration stallTimeout;
+
+    @Value("${hello.change-feed.max-subscribers:20000}")
+    private int maxSubscribers;
+
+    @Bean(destroyMethod = "close")
+    public ChangeFeed changeFeed(ObjectMapper objectMapper) {
+        int threads = senderThreads > 0 ? senderThreads : Runtime.getRuntime().availableProcessors();
+        return new ChangeFeed(objectMapper, capacity, threads, batchSize, slowConsumer, heartbeat.toNanos(),
+                stallTimeout.toNanos(), maxSubscribers);
+    }
+}
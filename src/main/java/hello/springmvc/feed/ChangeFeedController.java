@@ -0,0 +1,72 @@
+package hello.springmvc.feed;
+
+import hello.springmvc.RequestOrigin;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /request-body-json-* 로 들어온 HelloData 변경 알림 (Server-Sent Events)
+ *
+ * GET /changes
+ * - event: created, data: {"username":"hello","age":20}, id: 프로세스 epoch + 발행 순번 (형식에 기대지 말 것)
+ * - 다시 연결할 때 Last-Event-ID 를 보내면 그 뒤 이벤트부터 (링에서 이미 밀려났으면 lagged 이벤트, 재시작 전 id 면 지금부터)
+ * - 너무 느려서 링 한 바퀴 넘게 밀리면 event: lagged, data: {"missed":n} 뒤에 최신 이벤트부터 (hello.change-feed.slow-consumer)
+ *
+ * GET /changes/stats -> 구독자 수, 발행/전달 수, 느린 구독자 처리 횟수 (로컬에서만)
+ */
+@Controller
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (changeFeed.isFull()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // nginx 같은 프록시가 응답을 모았다가 보내지 않도록
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(0);
+        SseChannel channel = new SseChannel(asyncContext);
+        channel.start(changeFeed.subscribe(channel, lastEventId));
+    }
+
+    @ResponseBody
+    @GetMapping("/changes/stats")
+    public Map<String, Object> stats(HttpServletRequest request) {
+        RequestOrigin.requireLoopback(request);
+
+        ChangeFeed.Stats stats = changeFeed.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("subscribers", stats.subscribers());
+        result.put("published", stats.published());
+        result.put("delivered", stats.delivered());
+        result.put("skipped", stats.skipped());
+        result.put("missed", stats.missed());
+        result.put("dropped", stats.dropped());
+        result.put("stalled", stats.stalled());
+        return result;
+    }
+}
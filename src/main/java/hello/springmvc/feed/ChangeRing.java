@@ -0,0 +1,69 @@
+package hello.springmvc.feed;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * 여러 스레드가 발행하고 여러 구독자가 각자 커서로 읽는 고정 크기 링 버퍼 (락 없음)
+ *
+ * - 발행자는 getAndIncrement 로 sequence 를 받고 그 칸에 씀, 가득 차도 기다리지 않고 가장 오래된 이벤트를 덮어씀
+ *   -> 구독자가 아무리 느려도 발행자는 막히지 않음
+ * - 칸마다 ChangeEvent 가 자기 sequence 를 들고 있어서 읽는 쪽이 칸의 상태를 구분
+ *   - 칸의 sequence == 커서 : 읽으면 됨
+ *   - 칸이 비었거나 sequence < 커서 : 아직 안 쓰임 (자리만 예약된 상태)
+ *   - 칸의 sequence > 커서 : 이미 덮어써짐 -> 그 구독자는 한 바퀴 넘게 밀림
+ * - 구독자는 링을 바꾸지 않음 -> 구독자 수와 상관없이 이벤트는 한 벌만 보관
+ */
+public class ChangeRing {
+
+    private final int mask;
+    private final AtomicReferenceArray<ChangeEvent> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * @param capacity 2의 거듭제곱으로 올림
+     */
+    public ChangeRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * 다음 sequence 로 frame 을 만들어 씀
+     */
+    public ChangeEvent publish(LongFunction<byte[]> frame) {
+        long sequence = next.getAndIncrement();
+        ChangeEvent event = new ChangeEvent(sequence, frame.apply(sequence));
+        int index = (int) sequence & mask;
+        while (true) {
+            ChangeEvent current = slots.get(index);
+            // 자리를 받고 쓰기 전에 한 바퀴 넘게 멈춰 있던 발행자 -> 더 새로운 이벤트를 덮지 않고 버림
+            if (current != null && current.sequence() > sequence) {
+                return event;
+            }
+            if (slots.compareAndSet(index, current, event)) {
+                return event;
+            }
+        }
+    }
+
+    /**
+     * 다음에 발행될 sequence (자리만 예약되고 아직 안 쓰인 칸이 있을 수 있음)
+     */
+    public long head() {
+        return next.get();
+    }
+
+    /**
+     * sequence 자리에 지금 있는 이벤트 (비었으면 null), 호출한 쪽이 sequence 를 비교해서 판단
+     */
+    public ChangeEvent get(long sequence) {
+        return slots.get((int) sequence & mask);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,90 @@
+package hello.springmvc.feed;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+
+/**
+ * 서블릿 비동기 + 논블로킹 쓰기 (WriteListener) 로 만든 SSE 연결
+ *
+ * - 요청 스레드는 start() 까지만 쓰고 바로 반환 -> 연결을 들고 있는 스레드 없음 (비동기 타임아웃도 없음)
+ * - 쓰기는 sender 스레드에서, 소켓이 못 받으면 isReady() 가 false -> 톰캣이 다 보낸 뒤 onWritePossible 로 알려줌
+ * - 클라이언트가 끊거나 쓰기가 실패하면 구독을 닫음
+ */
+class SseChannel implements ChangeFeed.Channel, WriteListener, AsyncListener {
+
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream out;
+    private ChangeFeed.Subscription subscription;
+
+    SseChannel(AsyncContext asyncContext) throws IOException {
+        this.asyncContext = asyncContext;
+        this.out = asyncContext.getResponse().getOutputStream();
+    }
+
+    /**
+     * setWriteListener 뒤에 컨테이너가 첫 onWritePossible 을 부름 -> 그때부터 전달 시작
+     */
+    void start(ChangeFeed.Subscription subscription) {
+        this.subscription = subscription;
+        asyncContext.addListener(this);
+        out.setWriteListener(this);
+    }
+
+    @Override
+    public boolean isReady() {
+        return out.isReady();
+    }
+
+    @Override
+    public void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // 이미 끝난 요청 (클라이언트가 먼저 끊음)
+        }
+    }
+
+    @Override
+    public void onWritePossible() {
+        subscription.writable();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        subscription.close();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        subscription.close();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        subscription.close();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        subscription.close();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+}
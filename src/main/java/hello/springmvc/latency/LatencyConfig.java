@@ -0,0 +1,27 @@
+package hello.springmvc.latency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 엔드포인트별 지연 시간 측정 (hello.latency.enabled, 기본 켜짐)
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.latency.enabled", havingValue = "true", matchIfMissing = true)
+public class LatencyConfig {
+
+    @Bean
+    public LatencyRegistry latencyRegistry() {
+        return new LatencyRegistry();
+    }
+
+    @Bean
+    public FilterRegistrationBean<LatencyFilter> latencyFilter(LatencyRegistry latencyRegistry) {
+        FilterRegistrationBean<LatencyFilter> registration = new FilterRegistrationBean<>(new LatencyFilter(latencyRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,55 @@
+package hello.springmvc.latency;
+
+import hello.springmvc.RequestOrigin;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 엔드포인트별 지연 시간 조회 (로컬에서만)
+ *
+ * GET /latency             -> 앱 시작 (또는 마지막 reset) 이후 누적
+ * GET /latency?reset=true  -> 조회하면서 0 으로 -> 주기적으로 긁어가면 구간별 값
+ *
+ * 시간 단위는 마이크로초
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "hello.latency.enabled", havingValue = "true", matchIfMissing = true)
+public class LatencyController {
+
+    private final LatencyRegistry registry;
+
+    @GetMapping("/latency")
+    public Map<String, Map<String, Object>> latency(@RequestParam(defaultValue = "false") boolean reset,
+                                                    HttpServletRequest request) {
+        RequestOrigin.requireLoopback(request);
+
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        registry.snapshot(reset).forEach((endpoint, snapshot) -> {
+            if (snapshot.getCount() == 0) {
+                return;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", snapshot.getCount());
+            stats.put("mean", micros(snapshot.getMean()));
+            stats.put("p50", micros(snapshot.valueAt(0.50)));
+            stats.put("p90", micros(snapshot.valueAt(0.90)));
+            stats.put("p99", micros(snapshot.valueAt(0.99)));
+            stats.put("p999", micros(snapshot.valueAt(0.999)));
+            stats.put("max", micros(snapshot.getMax()));
+            result.put(endpoint, stats);
+        });
+        return result;
+    }
+
+    private static double micros(double nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+}
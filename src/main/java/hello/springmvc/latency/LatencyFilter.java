@@ -0,0 +1,69 @@
+package hello.springmvc.latency;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청 하나의 처리 시간을 핸들러별 히스토그램에 기록
+ *
+ * - 시작 시각은 지역 변수로만 들고 있음 (요청 속성에 넣으면 Long 박싱)
+ * - 어떤 핸들러였는지는 DispatcherServlet 이 남긴 BEST_MATCHING_HANDLER_ATTRIBUTE 로 확인
+ * - 비동기 요청 (DeferredResult, StreamingResponseBody 등) 은 비동기 처리가 끝날 때 기록
+ * - REQUEST 디스패치에만 등록되므로 OncePerRequestFilter 가 필요 없음 (요청마다 속성 이름 문자열을 만들지 않도록)
+ */
+@RequiredArgsConstructor
+public class LatencyFilter implements Filter {
+
+    private final LatencyRegistry registry;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain)
+            throws IOException, ServletException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncCompletion(request, start));
+            } else {
+                registry.record(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE), System.nanoTime() - start);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class AsyncCompletion implements AsyncListener {
+
+        private final ServletRequest request;
+        private final long start;
+
+        /**
+         * 완료 후에는 AsyncContext.getRequest() 를 쓸 수 없으므로 원래 요청에서 핸들러를 꺼냄
+         */
+        @Override
+        public void onComplete(AsyncEvent event) {
+            registry.record(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE), System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package hello.springmvc.latency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 락 없는 지연 시간 히스토그램 (나노초)
+ *
+ * 버킷
+ * - 2의 거듭제곱 구간마다 SUB_BUCKETS 개로 나눈 로그-선형 버킷 -> 값 크기와 상관없이 상대 오차 약 1/SUB_BUCKETS
+ * - MAX_VALUE 를 넘는 값은 마지막 버킷에
+ *
+ * 기록
+ * - 스레드마다 스트라이프 하나를 골라 (스레드 id 해시) AtomicLongArray 칸 하나를 증가 -> 락, 할당 없음
+ * - 스트라이프를 나눠서 여러 코어가 같은 카운터를 두고 경합하지 않게 함
+ *
+ * 조회
+ * - 모든 스트라이프를 합쳐서 스냅샷, reset 이면 읽으면서 0 으로 (getAndSet)
+ *   -> 읽는 도중 기록된 값은 이번 또는 다음 구간 중 한 곳에만 들어감
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /**
+     * 스트라이프 하나 = [sum, max, 버킷...] + 다음 스트라이프와 캐시 라인이 겹치지 않게 패딩
+     */
+    private static final int SUM = 0;
+    private static final int MAX = 1;
+    private static final int HEADER = 2;
+    private static final int PADDING = 8;
+    private static final int STRIDE = HEADER + BUCKETS + PADDING;
+
+    private final int stripeMask;
+    private final AtomicLongArray cells;
+
+    public LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public LatencyHistogram(int concurrency) {
+        int stripes = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 64)) * 2 - 1);
+        this.stripeMask = stripes - 1;
+        this.cells = new AtomicLongArray(stripes * STRIDE);
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+        int base = stripe() * STRIDE;
+        cells.incrementAndGet(base + HEADER + bucket(value));
+        cells.addAndGet(base + SUM, value);
+        long max = cells.get(base + MAX);
+        while (value > max && !cells.compareAndSet(base + MAX, max, value)) {
+            max = cells.get(base + MAX);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & stripeMask;
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * 버킷에 들어갈 수 있는 가장 큰 값
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int block = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        int shift = block - 1;
+        long lowest = (long) (SUB_BUCKETS + sub) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    public Snapshot snapshot(boolean reset) {
+        long[] counts = new long[BUCKETS];
+        long sum = 0;
+        long max = 0;
+        for (int base = 0; base < cells.length(); base += STRIDE) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += reset ? cells.getAndSet(base + HEADER + i, 0) : cells.get(base + HEADER + i);
+            }
+            sum += reset ? cells.getAndSet(base + SUM, 0) : cells.get(base + SUM);
+            max = Math.max(max, reset ? cells.getAndSet(base + MAX, 0) : cells.get(base + MAX));
+        }
+        return new Snapshot(counts, sum, max);
+    }
+
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long sum, long max) {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            this.counts = counts;
+            this.count = total;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * 두 스냅샷의 버킷을 더한 스냅샷
+         */
+        public Snapshot merge(Snapshot other) {
+            long[] merged = counts.clone();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other.counts[i];
+            }
+            return new Snapshot(merged, sum + other.sum, Math.max(max, other.max));
+        }
+
+        /**
+         * @param quantile 0.0 ~ 1.0
+         */
+        public long valueAt(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
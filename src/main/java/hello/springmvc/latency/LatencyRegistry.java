@@ -0,0 +1,56 @@
+package hello.springmvc.latency;
+
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 엔드포인트(핸들러 메소드)별 LatencyHistogram 모음
+ *
+ * - 키는 Method 객체 -> 요청마다 문자열 키를 만들지 않음
+ * - 핸들러가 없는 요청 (정적 리소스, 404 등) 은 "unmatched" 하나로
+ * - 이름이 같은 오버로드 핸들러는 조회할 때 버킷을 합쳐서 하나로
+ */
+public class LatencyRegistry {
+
+    public static final String UNMATCHED = "unmatched";
+
+    private final ConcurrentMap<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final LatencyHistogram unmatched = new LatencyHistogram();
+
+    private record Endpoint(String name, LatencyHistogram histogram) {
+    }
+
+    public void record(Object handler, long nanos) {
+        histogramFor(handler).record(nanos);
+    }
+
+    private LatencyHistogram histogramFor(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return unmatched;
+        }
+        Method method = handlerMethod.getMethod();
+        Endpoint endpoint = endpoints.get(method);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(method, m ->
+                    new Endpoint(m.getDeclaringClass().getSimpleName() + "#" + m.getName(), new LatencyHistogram()));
+        }
+        return endpoint.histogram;
+    }
+
+    /**
+     * 이름순 스냅샷
+     */
+    public Map<String, LatencyHistogram.Snapshot> snapshot(boolean reset) {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        for (Endpoint endpoint : endpoints.values()) {
+            result.merge(endpoint.name, endpoint.histogram.snapshot(reset), LatencyHistogram.Snapshot::merge);
+        }
+        result.put(UNMATCHED, unmatched.snapshot(reset));
+        return result;
+    }
+}
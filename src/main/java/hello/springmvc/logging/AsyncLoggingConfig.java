@@ -0,0 +1,92 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 스프링 부트가 구성한 logback 에 비동기 appender, 샘플링 필터를 덧붙인다.
+ *
+ * - 부트 로깅 시스템이 초기화된 다음 (빈 생성 시점) 에 적용
+ * - 같은 LoggerContext 에 두 번 적용하지 않음 (테스트처럼 컨텍스트가 여러 번 뜨는 경우)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnClass(LoggerContext.class)
+@EnableConfigurationProperties(AsyncLoggingProperties.class)
+@RequiredArgsConstructor
+public class AsyncLoggingConfig implements InitializingBean {
+
+    static final String APPENDER_NAME = "RING_BUFFER";
+
+    private final AsyncLoggingProperties properties;
+
+    /**
+     * 지연 초기화 (spring.main.lazy-initialization) 에서도 시작할 때 바로 적용
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter asyncLoggingEagerInit() {
+        return LazyInitializationExcludeFilter.forBeanTypes(AsyncLoggingConfig.class);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        if (!properties.getSampling().isEmpty()
+                && context.getTurboFilterList().stream().noneMatch(SamplingTurboFilter.class::isInstance)) {
+            SamplingTurboFilter filter = new SamplingTurboFilter(properties.getSampling());
+            filter.setContext(context);
+            filter.start();
+            context.addTurboFilter(filter);
+            log.info("log sampling {}", properties.getSampling());
+        }
+        if (properties.getAsync().isEnabled()) {
+            wrapRootAppenders(context);
+        }
+    }
+
+    private void wrapRootAppenders(LoggerContext context) {
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (root.getAppender(APPENDER_NAME) != null) {
+            return;
+        }
+
+        List<Appender<ILoggingEvent>> targets = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            targets.add(it.next());
+        }
+
+        RingBufferAppender ring = new RingBufferAppender();
+        ring.setName(APPENDER_NAME);
+        ring.setContext(context);
+        ring.setBufferSize(properties.getAsync().getBufferSize());
+        ring.setBatchSize(properties.getAsync().getBatchSize());
+        for (Appender<ILoggingEvent> target : targets) {
+            ring.addAppender(target);
+        }
+        ring.start();
+
+        root.addAppender(ring);
+        for (Appender<ILoggingEvent> target : targets) {
+            root.detachAppender(target);
+        }
+        log.info("async logging: {} behind ring buffer of {}", targets.stream().map(Appender::getName).toList(),
+                properties.getAsync().getBufferSize());
+    }
+}
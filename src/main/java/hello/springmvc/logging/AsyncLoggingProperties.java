@@ -0,0 +1,31 @@
+package hello.springmvc.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * hello.logging.async.enabled     : 루트 로거의 appender 들을 RingBufferAppender 뒤로 옮김
+ * hello.logging.async.buffer-size : 링 버퍼 크기 (2의 거듭제곱으로 올림)
+ * hello.logging.async.batch-size  : 한 번에 꺼내서 쓰는 이벤트 수
+ * hello.logging.sampling[로거]    : 로거별 초당 최대 로그 수 (INFO 이하)
+ */
+@Getter
+@Setter
+@ConfigurationProperties("hello.logging")
+public class AsyncLoggingProperties {
+
+    private final Async async = new Async();
+    private Map<String, Long> sampling = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Async {
+        private boolean enabled = false;
+        private int bufferSize = 8192;
+        private int batchSize = 256;
+    }
+}
@@ -0,0 +1,183 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 로그 appender
+ *
+ * - 요청 스레드는 이벤트를 LogRingBuffer 에 넣기만 함 (락, 대기 없음)
+ *  - 버퍼가 가득 차면 이벤트를 버리고 개수만 셈 -> 다음 배치 때 WARN 한 줄로 알림
+ * - 전용 스레드 하나가 batchSize 개씩 꺼내서 붙어 있는 appender (콘솔, 파일) 로 보냄
+ *  - OutputStreamAppender 는 매번 flush 하지 않고 배치가 끝날 때 한 번만 flush
+ *
+ * logback 의 AsyncAppender 는 BlockingQueue 기반이라 가득 차면 요청 스레드가 기다림 (neverBlock 이 아니면)
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private int bufferSize = 8192;
+    private int batchSize = 256;
+    private LogRingBuffer<ILoggingEvent> buffer;
+    private Thread worker;
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        buffer = new LogRingBuffer<>(bufferSize);
+        for (Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof OutputStreamAppender<ILoggingEvent> stream) {
+                stream.setImmediateFlush(false);
+            }
+        }
+        super.start();
+        worker = new Thread(this::drainLoop, "log-ring-buffer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // 다른 스레드에서 포맷하므로 메시지, MDC, 스레드 이름을 지금 확정
+        event.prepareForDeferredProcessing();
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drainLoop() {
+        long idle = 1000;
+        long reportedDrops = 0;
+        while (isStarted()) {
+            int drained = drainBatch();
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                reportDropped(drops - reportedDrops);
+                reportedDrops = drops;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(idle);
+                idle = Math.min(idle * 2, MAX_IDLE_NANOS);
+            } else {
+                idle = 1000;
+            }
+        }
+        while (drainBatch() > 0) {
+            // 멈출 때 남은 이벤트까지 모두 기록
+        }
+    }
+
+    private int drainBatch() {
+        int count = 0;
+        ILoggingEvent event;
+        while (count < batchSize && (event = buffer.poll()) != null) {
+            appenders.appendLoopOnAppenders(event);
+            count++;
+        }
+        if (count > 0) {
+            flush();
+        }
+        return count;
+    }
+
+    private void reportDropped(long count) {
+        Logger logger = ((LoggerContext) getContext()).getLogger(RingBufferAppender.class);
+        LoggingEvent event = new LoggingEvent(RingBufferAppender.class.getName(), logger, Level.WARN,
+                "log ring buffer full, dropped {} events", null, new Object[]{count});
+        appenders.appendLoopOnAppenders(event);
+        flush();
+    }
+
+    private void flush() {
+        for (Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof OutputStreamAppender<ILoggingEvent> stream && stream.getOutputStream() != null) {
+                try {
+                    stream.getOutputStream().flush();
+                } catch (IOException e) {
+                    addError("flush failed: " + stream.getName(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
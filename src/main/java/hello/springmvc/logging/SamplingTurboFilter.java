@@ -0,0 +1,87 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로거별 초당 로그 수 제한
+ *
+ * - rates : 로거 이름 (또는 상위 패키지) -> 초당 최대 이벤트 수
+ *  - hello.springmvc.basic.request.RequestHeaderController=10 이면 그 로거는 초당 10건까지만
+ *  - 가장 길게 일치하는 이름의 설정을 사용
+ * - WARN 이상은 제한하지 않음
+ * - 로그 이벤트를 만들기 전에 결정 (TurboFilter) -> 버려지는 로그는 메시지 포맷 비용도 없음
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final RateLimiter UNLIMITED = new RateLimiter(Long.MAX_VALUE);
+
+    private final Map<String, Long> rates;
+    private final ConcurrentMap<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public SamplingTurboFilter(Map<String, Long> rates) {
+        this.rates = Map.copyOf(rates);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isDebugEnabled() 같은 레벨 확인 호출 (format == null), 어차피 꺼진 레벨, WARN 이상은 통과
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        RateLimiter limiter = limiters.get(logger.getName());
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(logger.getName(), this::resolve);
+        }
+        return limiter.tryAcquire() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private RateLimiter resolve(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Long rate = rates.get(name);
+            if (rate != null) {
+                return new RateLimiter(rate);
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return UNLIMITED;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    /**
+     * 1초 고정 구간마다 permitsPerSecond 건
+     */
+    static class RateLimiter {
+
+        private final long permitsPerSecond;
+        private final AtomicLong window = new AtomicLong();
+        private final AtomicLong used = new AtomicLong();
+
+        RateLimiter(long permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        boolean tryAcquire() {
+            if (permitsPerSecond == Long.MAX_VALUE) {
+                return true;
+            }
+            long now = System.currentTimeMillis() / 1000;
+            long current = window.get();
+            if (now != current && window.compareAndSet(current, now)) {
+                used.set(0);
+            }
+            return used.incrementAndGet() <= permitsPerSecond;
+        }
+    }
+}
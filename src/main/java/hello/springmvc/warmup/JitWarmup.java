@@ -0,0 +1,139 @@
+package hello.springmvc.warmup;
+
+import hello.springmvc.latency.LatencyRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+
+/**
+ * 배포 직후 첫 요청들이 인터프리터에서 돌며 p99 가 튀는 것을 막기 위한 JIT 워밍업
+ *
+ * - ApplicationRunner 로 실행 -> 톰캣은 떠 있지만 readiness (ACCEPTING_TRAFFIC) 보고 전
+ * - 등록된 모든 @RequestMapping 마다 요청을 하나 만들어 (경로 변수, params/headers 조건, consumes/produces 반영)
+ *   loopback 으로 톰캣 -> 필터 -> DispatcherServlet 전체 경로를 통과시킴
+ * - round-size 개씩 보내고 라운드 중앙값이 tolerance 안에서 stable-rounds 번 연속 유지되면 다음 엔드포인트로
+ * - 엔드포인트별 반복 횟수, 처음/마지막 라운드 중앙값을 로그로 남김
+ * - 끝나면 LatencyRegistry 를 비워서 워밍업 요청이 /latency 통계에 남지 않게 함
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JitWarmup implements ApplicationRunner {
+
+    private final ApplicationContext context;
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final WarmupProperties properties;
+    private final ObjectProvider<LatencyRegistry> latencyRegistry;
+    private final LoggingSystem loggingSystem;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!(context instanceof WebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + webContext.getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long deadline = System.nanoTime() + properties.getMaxDuration().toNanos();
+
+        List<SyntheticRequest> requests = requests();
+        log.info("jit warmup: {} endpoints", requests.size());
+        Map<String, LogLevel> restore = quietLoggers();
+        long start = System.nanoTime();
+        List<String> report = new ArrayList<>();
+        try {
+            for (SyntheticRequest request : requests) {
+                report.add(warmup(client, request, baseUrl, deadline));
+            }
+        } finally {
+            restore.forEach(loggingSystem::setLogLevel);
+        }
+        report.forEach(log::info);
+        latencyRegistry.ifAvailable(registry -> registry.snapshot(true));
+        log.info("jit warmup: done in {}ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Map<String, LogLevel> quietLoggers() {
+        Map<String, LogLevel> restore = new LinkedHashMap<>();
+        for (String name : properties.getQuietLoggers()) {
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+            restore.put(name, configuration == null ? null : configuration.getConfiguredLevel());
+            loggingSystem.setLogLevel(name, LogLevel.WARN);
+        }
+        return restore;
+    }
+
+    private String warmup(HttpClient client, SyntheticRequest request, String baseUrl, long deadline) throws InterruptedException {
+        if (System.nanoTime() > deadline) {
+            return "jit warmup: " + request + " skipped, max-duration " + properties.getMaxDuration() + " reached";
+        }
+        Result result = warmup(client, request.toHttpRequest(baseUrl), deadline);
+        return String.format("jit warmup: %s -> status %d, %d iterations%s, median %dus -> %dus",
+                request, result.status, result.iterations, result.settled ? "" : " (not settled)",
+                result.firstMedianNanos / 1000, result.lastMedianNanos / 1000);
+    }
+
+    private Result warmup(HttpClient client, HttpRequest request, long deadline) throws InterruptedException {
+        int roundSize = properties.getRoundSize();
+        long[] latencies = new long[roundSize];
+        Result result = new Result();
+        long previousMedian = -1;
+        int stable = 0;
+        while (result.iterations < properties.getMaxIterations() && System.nanoTime() < deadline) {
+            for (int i = 0; i < roundSize; i++) {
+                long begin = System.nanoTime();
+                try {
+                    result.status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (IOException e) {
+                    result.status = -1;
+                }
+                latencies[i] = System.nanoTime() - begin;
+            }
+            result.iterations += roundSize;
+
+            Arrays.sort(latencies);
+            long median = latencies[roundSize / 2];
+            if (previousMedian < 0) {
+                result.firstMedianNanos = median;
+            } else if (Math.abs(median - previousMedian) <= previousMedian * properties.getTolerance()) {
+                stable++;
+            } else {
+                stable = 0;
+            }
+            previousMedian = median;
+            result.lastMedianNanos = median;
+            if (stable >= properties.getStableRounds()) {
+                result.settled = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static class Result {
+        int status;
+        int iterations;
+        boolean settled;
+        long firstMedianNanos;
+        long lastMedianNanos;
+    }
+
+    /**
+     * 매핑마다 요청 하나 + hello.warmup.requests
+     */
+    List<SyntheticRequest> requests() {
+        return new SyntheticRequests(properties).forMappings(handlerMapping.getHandlerMethods(), handlerMethod -> true);
+    }
+}
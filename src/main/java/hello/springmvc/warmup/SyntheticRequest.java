@@ -0,0 +1,38 @@
+package hello.springmvc.warmup;
+
+import hello.springmvc.RequestOrigin;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Map;
+
+/**
+ * 매핑 하나에 대한 합성 요청 (JitWarmup, 부하 테스트에서 사용)
+ *
+ * path 는 경로 변수를 채운 실제 경로, pattern 은 매핑 패턴 (/mapping/users/{userId}) -> 결과를 매핑 기준으로 모을 때
+ * 보낼 때 HEADER 를 붙임 -> 핸들러가 외부로 보이는 부수 효과 (변경 피드 발행 등) 를 건너뛸 수 있게 (RequestOrigin.isSynthetic)
+ */
+public record SyntheticRequest(String method, String path, String pattern, Map<String, String> headers,
+                               String contentType, String accept, String body) {
+
+    public static final String HEADER = RequestOrigin.SYNTHETIC_HEADER;
+
+    public HttpRequest toHttpRequest(String baseUrl) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .header(HEADER, "true");
+        headers.forEach(builder::header);
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        if (accept != null) {
+            builder.header("Accept", accept);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path;
+    }
+}
@@ -0,0 +1,133 @@
+package hello.springmvc.warmup;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @RequestMapping 정보로 합성 요청 만들기
+ *
+ * - 경로 변수 : hello.warmup.path-variables (없으면 1)
+ * - 쿼리 파라미터 : hello.warmup.params + params 조건
+ * - 헤더 : headers 조건, consumes -> Content-Type, produces -> Accept
+ * - POST/PUT/PATCH 바디 : JSON (hello.warmup.body), NDJSON, text, multipart (hello.warmup.params 를 CSV 로 담은 파일 파트 file)
+ * - hello.warmup.exclude 경로 패턴은 제외 ("POST /mapping/users" 처럼 메서드를 붙이면 그 메서드만), 같은 요청은 한 번만
+ */
+public class SyntheticRequests {
+
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{\\*?([^}:]+)(:[^}]*)?}");
+    private static final String MULTIPART_BOUNDARY = "warmup-boundary";
+
+    private final WarmupProperties properties;
+
+    public SyntheticRequests(WarmupProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * filter 를 통과한 핸들러 매핑마다 요청 하나 (경로 순) + hello.warmup.requests
+     */
+    public List<SyntheticRequest> forMappings(Map<RequestMappingInfo, HandlerMethod> mappings, Predicate<HandlerMethod> filter) {
+        AntPathMatcher matcher = new AntPathMatcher();
+        List<SyntheticRequest> requests = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        mappings.forEach((info, handlerMethod) -> {
+            String pattern = info.getPatternValues().iterator().next();
+            if (!filter.test(handlerMethod)) {
+                return;
+            }
+            SyntheticRequest request = fromMapping(info, pattern);
+            if (!excluded(matcher, request.method(), pattern) && seen.add(request.toString())) {
+                requests.add(request);
+            }
+        });
+        requests.sort(Comparator.comparing(SyntheticRequest::toString));
+        for (WarmupProperties.Request configured : properties.getRequests()) {
+            String path = configured.getPath();
+            requests.add(new SyntheticRequest(configured.getMethod(), path, path.replaceFirst("\\?.*", ""),
+                    new LinkedHashMap<>(), configured.getContentType(), null, configured.getBody()));
+        }
+        return requests;
+    }
+
+    private boolean excluded(AntPathMatcher matcher, String method, String pattern) {
+        for (String exclude : properties.getExclude()) {
+            int space = exclude.indexOf(' ');
+            if (space < 0 ? matcher.match(exclude, pattern)
+                    : exclude.substring(0, space).equalsIgnoreCase(method) && matcher.match(exclude.substring(space + 1).trim(), pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SyntheticRequest fromMapping(RequestMappingInfo info, String pattern) {
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+        String method = methods.isEmpty() || methods.contains(RequestMethod.GET) ? "GET" : methods.iterator().next().name();
+
+        Matcher variables = PATH_VARIABLE.matcher(pattern);
+        StringBuilder path = new StringBuilder();
+        while (variables.find()) {
+            String value = properties.getPathVariables().getOrDefault(variables.group(1), "1");
+            variables.appendReplacement(path, Matcher.quoteReplacement(value));
+        }
+        variables.appendTail(path);
+        UriComponentsBuilder uri = UriComponentsBuilder.fromPath(path.toString().replace("**", "x").replace("*", "x"));
+        properties.getParams().forEach(uri::queryParam);
+        for (NameValueExpression<String> param : info.getParamsCondition().getExpressions()) {
+            if (!param.isNegated()) {
+                uri.replaceQueryParam(param.getName(), param.getValue() != null ? param.getValue() : "1");
+            }
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (NameValueExpression<String> header : info.getHeadersCondition().getExpressions()) {
+            if (!header.isNegated()) {
+                headers.put(header.getName(), header.getValue() != null ? header.getValue() : "1");
+            }
+        }
+
+        boolean hasBody = method.equals("POST") || method.equals("PUT") || method.equals("PATCH");
+        String contentType = info.getConsumesCondition().getConsumableMediaTypes().stream()
+                .filter(type -> !type.isWildcardType() && !type.isWildcardSubtype())
+                .findFirst().map(MediaType::toString)
+                .orElse(hasBody ? MediaType.APPLICATION_JSON_VALUE : null);
+        String accept = info.getProducesCondition().getProducibleMediaTypes().stream()
+                .findFirst().map(MediaType::toString).orElse(null);
+        String body = hasBody ? bodyFor(contentType) : null;
+        if (contentType != null && !hasBody) {
+            contentType = null;
+        }
+        if (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            contentType = MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=" + MULTIPART_BOUNDARY;
+        }
+        return new SyntheticRequest(method, uri.build().toUriString(), pattern, headers, contentType, accept, body);
+    }
+
+    private String bodyFor(String contentType) {
+        if (contentType.startsWith(MediaType.TEXT_PLAIN_VALUE)) {
+            return "hello";
+        }
+        if (contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return properties.getBody() + "\n" + properties.getBody() + "\n";
+        }
+        if (contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            String csv = String.join(",", properties.getParams().keySet()) + "\n"
+                    + String.join(",", properties.getParams().values()) + "\n";
+            return "--" + MULTIPART_BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"warmup.csv\"\r\n"
+                    + "Content-Type: text/csv\r\n\r\n"
+                    + csv + "\r\n--" + MULTIPART_BOUNDARY + "--\r\n";
+        }
+        return properties.getBody();
+    }
+}
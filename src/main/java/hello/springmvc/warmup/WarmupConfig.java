@@ -0,0 +1,29 @@
+package hello.springmvc.warmup;
+
+import hello.springmvc.latency.LatencyRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * hello.warmup.enabled=true 이면 JitWarmup 등록 (설정 항목은 WarmupProperties)
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(name = "hello.warmup.enabled", havingValue = "true")
+public class WarmupConfig {
+
+    @Bean
+    public JitWarmup jitWarmup(ApplicationContext context,
+                               @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                               WarmupProperties properties, ObjectProvider<LatencyRegistry> latencyRegistry,
+                               LoggingSystem loggingSystem) {
+        return new JitWarmup(context, handlerMapping, properties, latencyRegistry, loggingSystem);
+    }
+}
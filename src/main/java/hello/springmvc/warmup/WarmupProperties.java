@@ -0,0 +1,53 @@
+package hello.springmvc.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * hello.warmup.enabled         : 시작할 때 JIT 워밍업 (실제 톰캣이 떠 있을 때만)
+ * hello.warmup.round-size      : 한 라운드에 보내는 요청 수 (라운드마다 중앙값 비교)
+ * hello.warmup.tolerance       : 직전 라운드 대비 중앙값 변화가 이 비율 이하로 stable-rounds 번 연속이면 안정
+ * hello.warmup.stable-rounds   : 안정 판정에 필요한 연속 라운드 수
+ * hello.warmup.max-iterations  : 엔드포인트 하나에 보내는 최대 요청 수
+ * hello.warmup.max-duration    : 워밍업 전체 시간 상한
+ * hello.warmup.path-variables  : 경로 변수 값 (없으면 1)
+ * hello.warmup.params          : 모든 요청에 붙이는 쿼리 파라미터
+ * hello.warmup.body            : POST/PUT/PATCH 바디 (JSON)
+ * hello.warmup.exclude         : 워밍업하지 않을 경로 패턴 ("POST /mapping/users" 처럼 메서드를 붙이면 그 메서드만)
+ * hello.warmup.requests        : 매핑에서 만든 요청 외에 추가로 보낼 요청
+ * hello.warmup.quiet-loggers   : 워밍업 동안 WARN 으로 올려둘 로거 (요청마다 남기는 로그가 수만 줄 쌓이지 않도록)
+ */
+@Getter
+@Setter
+@ConfigurationProperties("hello.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = false;
+    private int roundSize = 100;
+    private double tolerance = 0.1;
+    private int stableRounds = 2;
+    private int maxIterations = 10_000;
+    private Duration maxDuration = Duration.ofSeconds(60);
+    private Map<String, String> pathVariables = new LinkedHashMap<>();
+    private Map<String, String> params = new LinkedHashMap<>();
+    private String body = "{\"username\":\"hello\", \"age\":20}";
+    private List<String> exclude = new ArrayList<>(List.of("/error", "/latency"));
+    private List<Request> requests = new ArrayList<>();
+    private List<String> quietLoggers = new ArrayList<>(List.of("hello.springmvc"));
+
+    @Getter
+    @Setter
+    public static class Request {
+        private String method = "GET";
+        private String path;
+        private String contentType;
+        private String body;
+    }
+}
@@ -0,0 +1,69 @@
+package hello.springmvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryContentTest {
+
+    static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void jsonIsDefault() throws Exception {
+        mockMvc.perform(get("/response-body-json-v1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void cborRoundTrip() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        byte[] body = cbor.writeValueAsBytes(helloData());
+
+        byte[] result = mockMvc.perform(post("/request-body-json-v5")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cbor.readValue(result, HelloData.class)).isEqualTo(helloData());
+    }
+
+    @Test
+    void smileResponse() throws Exception {
+        byte[] result = mockMvc.perform(get("/response-body-json-v1").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        HelloData helloData = new ObjectMapper(new SmileFactory()).readValue(result, HelloData.class);
+        assertThat(helloData.getUsername()).isEqualTo("userA");
+    }
+
+    private static HelloData helloData() {
+        HelloData helloData = new HelloData();
+        helloData.setUsername("hello");
+        helloData.setAge(20);
+        return helloData;
+    }
+}
@@ -0,0 +1,124 @@
+package hello.springmvc.basic.request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvUploadProcessorTest {
+
+    // 작은 청크 -> 줄이 청크 경계에 걸치고, 청크 여러 개가 동시에 돎
+    private final CsvUploadProcessor processor = new CsvUploadProcessor(4, 64, 3, 1000);
+
+    @AfterEach
+    void tearDown() {
+        processor.close();
+    }
+
+    @Test
+    void reportsErrorsWithFileLineNumbers() throws IOException {
+        StringBuilder csv = new StringBuilder("username,age\r\n");
+        List<Long> expectedErrorLines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            if (i % 7 == 0) {
+                csv.append("user").append(i).append(",x").append(i).append("\r\n");
+                expectedErrorLines.add((long) i + 2);
+            } else {
+                csv.append("\"user, ").append(i).append("\",").append(i).append("\r\n");
+            }
+        }
+        csv.append("\n").append("noage\n").append("last, 42 ");
+        expectedErrorLines.add(503L);
+
+        List<RowError> errors = new ArrayList<>();
+        List<UploadProgress> progress = new ArrayList<>();
+        UploadProgress result = process(csv.toString(), errors, progress);
+
+        assertThat(errors).extracting(RowError::getLine).containsExactlyElementsOf(expectedErrorLines);
+        assertThat(errors.get(0).getError()).isEqualTo("age must be an integer: 'x0'");
+        assertThat(errors.get(errors.size() - 1).getError()).isEqualTo("expected 2 columns (username,age)");
+        assertThat(result.getLines()).isEqualTo(504);
+        assertThat(result.getAccepted()).isEqualTo(500 - 72 + 1);
+        assertThat(result.getRejected()).isEqualTo(73);
+        assertThat(result.getBytes()).isEqualTo(csv.toString().getBytes(StandardCharsets.UTF_8).length);
+        assertThat(result.isDone()).isTrue();
+        assertThat(result.isErrorsTruncated()).isFalse();
+        assertThat(progress).hasSizeGreaterThan(10)
+                .extracting(UploadProgress::getBytes).isSorted();
+    }
+
+    @Test
+    void truncatesErrorReport() throws IOException {
+        CsvUploadProcessor limited = new CsvUploadProcessor(2, 64, 2, 5);
+        try {
+            List<RowError> errors = new ArrayList<>();
+            UploadProgress result = limited.process(stream("a,b\n".repeat(100)), listener(errors, new ArrayList<>()));
+            assertThat(errors).hasSize(5);
+            assertThat(result.getRejected()).isEqualTo(100);
+            assertThat(result.isErrorsTruncated()).isTrue();
+        } finally {
+            limited.close();
+        }
+    }
+
+    @Test
+    void rejectsLineLongerThanChunk() {
+        assertThatThrownBy(() -> process("a," + "1".repeat(100) + "\n", new ArrayList<>(), new ArrayList<>()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    @Test
+    void reportsSubmittedChunksBeforeReadFailure() {
+        // 64 바이트 청크 = 16 줄, 세 청크를 맡긴 뒤 네 번째 청크를 읽다가 실패
+        InputStream failing = new SequenceInputStream(stream("a,b\n".repeat(50)), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+        List<RowError> errors = new ArrayList<>();
+        List<UploadProgress> progress = new ArrayList<>();
+
+        assertThatThrownBy(() -> processor.process(failing, listener(errors, progress)))
+                .isInstanceOf(IOException.class)
+                .hasMessage("connection reset");
+        assertThat(errors).extracting(RowError::getLine).containsExactlyElementsOf(
+                LongStream.rangeClosed(1, 48).boxed().toList());
+        assertThat(progress).extracting(UploadProgress::getBytes).containsExactly(64L, 128L, 192L);
+    }
+
+    private UploadProgress process(String csv, List<RowError> errors, List<UploadProgress> progress) throws IOException {
+        return processor.process(stream(csv), listener(errors, progress));
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CsvUploadProcessor.Listener listener(List<RowError> errors, List<UploadProgress> progress) {
+        return new CsvUploadProcessor.Listener() {
+            @Override
+            public void onError(RowError error) {
+                errors.add(error);
+            }
+
+            @Override
+            public void onProgress(UploadProgress value) {
+                UploadProgress copy = new UploadProgress();
+                copy.setBytes(value.getBytes());
+                progress.add(copy);
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.validation.BindException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "hello.binding.generated=true")
+@AutoConfigureMockMvc
+class ModelAttributeBindingTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void generatedBinder() throws Exception {
+        GeneratedBinder binder = GeneratedBinder.of(HelloData.class);
+        assertThat(binder.getDefaultName()).isEqualTo("helloData");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("username", "");
+        request.addParameter("age", "20");
+        HelloData helloData = (HelloData) binder.bind(request);
+        assertThat(helloData.getUsername()).isEmpty();
+        assertThat(helloData.getAge()).isEqualTo(20);
+
+        // 기본 바인더로 넘겨야 하는 값
+        request.setParameter("age", "");
+        assertThat(binder.bind(request)).isNull();
+        request.setParameter("age", "abc");
+        assertThat(binder.bind(request)).isNull();
+    }
+
+    @Test
+    void typeMismatchIsBindException() throws Exception {
+        for (String age : new String[]{"abc", ""}) {
+            Exception exception = mockMvc.perform(get("/model-attribute-v2").param("username", "hello").param("age", age))
+                    .andExpect(status().isBadRequest())
+                    .andReturn().getResolvedException();
+            assertThat(exception).isInstanceOf(BindException.class);
+            assertThat(((BindException) exception).getFieldError("age").getCode()).isEqualTo("typeMismatch");
+        }
+    }
+
+    @Test
+    void bindsParameters() throws Exception {
+        mockMvc.perform(get("/model-attribute-v1").param("username", "hello").param("age", "20"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/model-attribute-v1").param("age", " 12 "))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,54 @@
+package hello.springmvc.basic.request;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartFileStreamTest {
+
+    private static final String CONTENT_TYPE = "multipart/form-data; boundary=\"b0undary\"";
+
+    @Test
+    void readsNamedPartSkippingOthers() throws IOException {
+        String content = "username,age\r\nuserA,20\r\n--b0und\r\n";
+        String body = "--b0undary\r\n"
+                + "Content-Disposition: form-data; name=\"comment\"\r\n\r\n"
+                + "skip me\r\n"
+                + "--b0undary\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"users.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + content + "\r\n"
+                + "--b0undary--\r\n";
+
+        // 한 바이트씩 오는 스트림 -> 경계가 읽기 사이에 걸침
+        try (MultipartFileStream file = MultipartFileStream.open(trickle(body), CONTENT_TYPE, "file")) {
+            assertThat(new String(file.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(content);
+        }
+        assertThat(MultipartFileStream.open(trickle(body), CONTENT_TYPE, "other")).isNull();
+    }
+
+    @Test
+    void rejectsMissingClosingBoundary() throws IOException {
+        String body = "--b0undary\r\nContent-Disposition: form-data; name=\"file\"\r\n\r\nuserA,20\n";
+        MultipartFileStream file = MultipartFileStream.open(trickle(body), CONTENT_TYPE, "file");
+        assertThatThrownBy(file::readAllBytes).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MultipartFileStream.open(trickle(body), "multipart/form-data", "file"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream trickle(String body) {
+        return new FilterInputStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+    }
+}
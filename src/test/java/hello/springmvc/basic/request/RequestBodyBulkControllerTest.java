@@ -0,0 +1,102 @@
+package hello.springmvc.basic.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestBodyBulkControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void ndjson() throws Exception {
+        String body = """
+                {"username":"a", "age":20}
+                {"username":"b", "age":30}
+                {"username":"c", "age":40}
+                """;
+
+        String result = mockMvc.perform(post("/request-body-json-bulk?batchSize=2")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(result.split("\n")).containsExactly(
+                "{\"batch\":0,\"records\":2,\"minAge\":20,\"maxAge\":30,\"averageAge\":25.0}",
+                "{\"batch\":1,\"records\":1,\"minAge\":40,\"maxAge\":40,\"averageAge\":40.0}");
+    }
+
+    @Test
+    void jsonArray() throws Exception {
+        String body = "[{\"username\":\"a\", \"age\":20}, {\"username\":\"b\", \"age\":30}]";
+
+        String result = mockMvc.perform(post("/request-body-json-bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(result).isEqualTo("{\"batch\":0,\"records\":2,\"minAge\":20,\"maxAge\":30,\"averageAge\":25.0}\n");
+    }
+
+    @Test
+    void invalidRecord() throws Exception {
+        String body = """
+                {"username":"a", "age":20}
+                {"username":"b", "age":"x"}
+                """;
+
+        String result = mockMvc.perform(post("/request-body-json-bulk?batchSize=1")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = result.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).startsWith("{\"error\":");
+    }
+
+    @Test
+    void invalidFirstRecord() throws Exception {
+        String result = mockMvc.perform(post("/request-body-json-bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"username\":\"a\", \"age\":\"x\"}\n"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(result).startsWith("{\"error\":").endsWith("}\n");
+    }
+
+    @Test
+    void invalidRecordAfterPartialBatch() throws Exception {
+        String body = """
+                {"username":"a", "age":20}
+                {"username":"b", "age":30}
+                {"username":"c", "age":40}
+                {"username":"d", "age":"x"}
+                """;
+
+        String result = mockMvc.perform(post("/request-body-json-bulk?batchSize=2")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = result.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("{\"batch\":0,\"records\":2,\"minAge\":20,\"maxAge\":30,\"averageAge\":25.0}");
+        assertThat(lines[1]).isEqualTo("{\"batch\":1,\"records\":1,\"minAge\":40,\"maxAge\":40,\"averageAge\":40.0}");
+        assertThat(lines[2]).startsWith("{\"error\":");
+    }
+}
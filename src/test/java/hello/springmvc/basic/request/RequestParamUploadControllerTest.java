@@ -0,0 +1,55 @@
+package hello.springmvc.basic.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "hello.upload.chunk-size=16")
+@AutoConfigureMockMvc
+class RequestParamUploadControllerTest {
+
+    private static final String CONTENT_TYPE = "multipart/form-data; boundary=xyz";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void streamsProgressAndRowErrors() throws Exception {
+        String result = mockMvc.perform(post("/request-param-upload").contentType(CONTENT_TYPE)
+                        .content(multipart("username,age\nuserA,20\nuserB,abc\nuserC,30\n")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = result.split("\n");
+        assertThat(lines).contains("{\"line\":3,\"error\":\"age must be an integer: 'abc'\"}");
+        assertThat(lines[lines.length - 1]).isEqualTo(
+                "{\"bytes\":41,\"lines\":4,\"accepted\":2,\"rejected\":1,\"done\":true,\"errorsTruncated\":false}");
+    }
+
+    @Test
+    void invalidUploads() throws Exception {
+        mockMvc.perform(post("/request-param-upload").contentType("multipart/form-data").content("x"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/request-param-upload").contentType(CONTENT_TYPE).content("--xyz--\r\n"))
+                .andExpect(status().isBadRequest());
+
+        String result = mockMvc.perform(post("/request-param-upload").contentType(CONTENT_TYPE)
+                        .content(multipart("userA," + "1".repeat(20) + "\n")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(result).startsWith("{\"error\":\"line 1 is longer than 16 bytes\"}");
+    }
+
+    private static String multipart(String csv) {
+        return "--xyz\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"users.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + csv + "\r\n--xyz--\r\n";
+    }
+}
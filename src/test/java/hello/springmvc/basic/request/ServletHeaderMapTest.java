@@ -0,0 +1,42 @@
+package hello.springmvc.basic.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServletHeaderMapTest {
+
+    @Test
+    void caseInsensitiveLookup() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept", "text/html");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("Host", "localhost");
+        ServletHeaderMap headers = new ServletHeaderMap(request);
+
+        assertThat(headers.getFirst("host")).isEqualTo("localhost");
+        assertThat(headers.get("ACCEPT")).containsExactly("text/html", "application/json");
+        assertThat(headers.get("accept")).isSameAs(headers.get("Accept"));
+        assertThat(headers.containsKey("HOST")).isTrue();
+        assertThat(headers.get("missing")).isNull();
+    }
+
+    @Test
+    void iteratesRequestHeaders() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Host", "localhost");
+        request.addHeader("myHeader", "hello");
+        ServletHeaderMap headers = new ServletHeaderMap(request);
+
+        assertThat(headers).hasSize(2);
+        assertThat(headers.keySet()).containsExactly("Host", "myHeader");
+        assertThat(headers.toString()).isEqualTo("{Host=[localhost], myHeader=[hello]}");
+        assertThat(headers.toSingleValueMap()).containsEntry("myHeader", "hello");
+        assertThatThrownBy(() -> headers.add("x", "y")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> headers.put("x", List.of("y"))).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package hello.springmvc.basic.requestmapping;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MappingController 매핑 결과 (기본 RequestMappingHandlerMapping)
+ * TrieMappingControllerTest 가 같은 검사를 트라이 매핑으로 다시 돌림
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MappingControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void staticPaths() throws Exception {
+        mockMvc.perform(get("/hello-basic")).andExpect(status().isOk());
+        mockMvc.perform(post("/hello-go")).andExpect(status().isOk());
+        mockMvc.perform(get("/mapping-get-v2")).andExpect(status().isOk());
+        mockMvc.perform(post("/mapping-get-v2")).andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(get("/no-such-path")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pathVariables() throws Exception {
+        mockMvc.perform(get("/mapping/userA")).andExpect(status().isOk());
+        mockMvc.perform(get("/mapping/users/userA/orders/100")).andExpect(status().isOk());
+        mockMvc.perform(get("/mapping/users/userA/orders/abc")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/mapping/users/userA/orders")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void conditions() throws Exception {
+        mockMvc.perform(get("/mapping-param").param("mode", "debug")).andExpect(status().isOk());
+        mockMvc.perform(get("/mapping-param")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/mapping-header").header("mode", "debug")).andExpect(status().isOk());
+        mockMvc.perform(get("/mapping-header")).andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/mapping-consume").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+        mockMvc.perform(post("/mapping-consume").contentType(MediaType.TEXT_PLAIN)).andExpect(status().isUnsupportedMediaType());
+
+        mockMvc.perform(post("/mapping-produce").accept(MediaType.TEXT_HTML)).andExpect(status().isOk());
+        mockMvc.perform(post("/mapping-produce").accept(MediaType.APPLICATION_JSON)).andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void userCrud() throws Exception {
+        String location = mockMvc.perform(post("/mapping/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"userA\",\"age\":20}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("userA"))
+                .andExpect(jsonPath("$.age").value(20));
+        mockMvc.perform(patch(location).contentType(MediaType.APPLICATION_JSON).content("{\"age\":21}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("userA"))
+                .andExpect(jsonPath("$.age").value(21));
+        String userId = location.substring(location.lastIndexOf('/') + 1);
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/mapping/users").param("minAge", "21").param("maxAge", "21")
+                        .param("size", "1000")).andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[?(@.userId == '" + userId + "')].age").value(hasItem(21)));
+
+        mockMvc.perform(delete(location)).andExpect(status().isNoContent());
+        mockMvc.perform(get(location)).andExpect(status().isNotFound());
+        mockMvc.perform(patch(location).contentType(MediaType.APPLICATION_JSON).content("{\"age\":22}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete(location)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void usersByAgePages() throws Exception {
+        for (int age = 7003; age >= 7001; age--) {
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(post("/mapping/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"page\",\"age\":" + age + "}")).andExpect(status().isCreated());
+            }
+        }
+
+        List<Integer> ages = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/mapping/users").param("minAge", "7001").param("maxAge", "7002").param("size", "3");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(request).andReturn()))
+                    .andExpect(status().isOk()).andReturn();
+            String body = result.getResponse().getContentAsString();
+            ages.addAll(JsonPath.read(body, "$.users[*].age"));
+            cursor = JsonPath.read(body, "$.next");
+        } while (cursor != null);
+        assertThat(ages).containsExactly(7001, 7001, 7002, 7002);
+
+        // minAge 를 생략하면 음수 age 도 포함
+        String location = mockMvc.perform(post("/mapping/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"negative\",\"age\":-7001}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+        String userId = location.substring(location.lastIndexOf('/') + 1);
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/mapping/users").param("maxAge", "-7001")).andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[?(@.userId == '" + userId + "')].age").value(hasItem(-7001)));
+
+        mockMvc.perform(get("/mapping/users").param("cursor", "!")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/mapping/users").param("size", "0")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,91 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TinyLfuCacheTest {
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, key -> {
+            loads.incrementAndGet();
+            await(release);
+            return key.toUpperCase();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            Future<?>[] futures = new Future<?>[16];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> cache.get("hot"));
+            }
+            // 모두 미스로 들어와서 적재 하나를 기다리는 상태가 될 때까지
+            while (cache.stats().coalesced() < futures.length - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<?> future : futures) {
+                assertThat(future.get()).isEqualTo("HOT");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().coalesced()).isEqualTo(15);
+        assertThat(cache.get("hot")).isEqualTo("HOT");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void failureIsSharedAndNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("backend down");
+            }
+            return key;
+        });
+        assertThatThrownBy(() -> cache.get("a")).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("a")).isEqualTo("a");
+        assertThat(cache.stats().loadFailures()).isEqualTo(1);
+        assertThat(cache.stats().loads()).isEqualTo(2);
+    }
+
+    @Test
+    void frequentKeysSurviveScan() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(100, key -> key);
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key);
+            }
+        }
+        // 한 번씩만 보는 키가 캐시 크기의 10 배 지나가도 자주 쓰던 키는 남아 있음 (LRU 라면 모두 밀려남)
+        for (int key = 1_000; key < 2_000; key++) {
+            cache.get(key);
+        }
+        long loadsBefore = cache.stats().loads();
+        for (int key = 0; key < 50; key++) {
+            cache.get(key);
+        }
+        assertThat(cache.stats().loads() - loadsBefore).isLessThan(5);
+        assertThat(cache.stats().size()).isLessThanOrEqualTo(100);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
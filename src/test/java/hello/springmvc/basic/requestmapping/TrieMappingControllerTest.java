@@ -0,0 +1,22 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "hello.routing.trie=true")
+@AutoConfigureMockMvc
+class TrieMappingControllerTest extends MappingControllerTest {
+
+    @Autowired
+    RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void trieMappingRegistered() {
+        assertThat(handlerMapping).isInstanceOf(TrieRequestMappingHandlerMapping.class);
+    }
+}
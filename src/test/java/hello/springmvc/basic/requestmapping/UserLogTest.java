@@ -0,0 +1,187 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversAfterRestart() throws IOException {
+        try (UserLog userLog = open(UserLog.Durability.FSYNC)) {
+            UserStore store = recover(userLog);
+            store.put("1", helloData("userA", 20));
+            store.put("2", helloData(null, 30));
+            store.put("3", helloData("유저C", 40));
+            store.update("1", helloData -> {
+                helloData.setAge(21);
+                return helloData;
+            });
+            store.remove("2");
+        }
+        try (UserLog userLog = open(UserLog.Durability.FSYNC)) {
+            assertThat(users(recover(userLog)))
+                    .isEqualTo(Map.of("1", helloData("userA", 21), "3", helloData("유저C", 40)));
+        }
+    }
+
+    @Test
+    void ignoresTornTailAndKeepsAppending() throws IOException {
+        try (UserLog userLog = open(UserLog.Durability.GROUP)) {
+            recover(userLog).put("1", helloData("userA", 20));
+        }
+        // 쓰다 만 기록: 길이는 있는데 CRC 가 틀림
+        Path segment = segments().get(0);
+        byte[] record = UserLog.encode("2", helloData("userB", 30));
+        record[record.length - 1] ^= 1;
+        write(segment, UserLog.encode("1", helloData("userA", 20)).length, record);
+
+        try (UserLog userLog = open(UserLog.Durability.GROUP)) {
+            UserStore store = recover(userLog);
+            assertThat(users(store)).isEqualTo(Map.of("1", helloData("userA", 20)));
+            store.put("3", helloData("userC", 40));
+        }
+        try (UserLog userLog = open(UserLog.Durability.GROUP)) {
+            assertThat(users(recover(userLog)))
+                    .isEqualTo(Map.of("1", helloData("userA", 20), "3", helloData("userC", 40)));
+        }
+    }
+
+    @Test
+    void snapshotRemovesOldSegments() throws IOException {
+        Map<String, HelloData> expected = new HashMap<>();
+        try (UserLog userLog = open(UserLog.Durability.ASYNC)) {
+            UserStore store = recover(userLog);
+            for (int i = 0; i < 2_000; i++) {
+                String userId = String.valueOf(i % 300);
+                HelloData helloData = helloData("user" + i, i);
+                store.put(userId, helloData);
+                expected.put(userId, helloData);
+            }
+            int before = segments().size();
+            userLog.snapshot(store::forEach);
+            assertThat(segments()).hasSizeLessThan(before).hasSize(1);
+
+            store.put("1000", helloData("afterSnapshot", 1));
+            expected.put("1000", helloData("afterSnapshot", 1));
+        }
+        try (UserLog userLog = open(UserLog.Durability.ASYNC)) {
+            assertThat(users(recover(userLog))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void remembersHighestUserIdAfterDeleteAndSnapshot() throws IOException {
+        try (UserLog userLog = open(UserLog.Durability.FSYNC)) {
+            UserStore store = recover(userLog);
+            store.put("1", helloData("userA", 20));
+            store.put("7", helloData("userB", 30));
+            store.put("userC", helloData("userC", 40));
+            store.remove("7");
+            assertThat(userLog.highestUserId()).isEqualTo(7);
+        }
+        try (UserLog userLog = open(UserLog.Durability.FSYNC)) {
+            UserStore store = recover(userLog);
+            assertThat(userLog.highestUserId()).isEqualTo(7);
+            // 스냅샷 위치 전 기록 (삭제 포함) 은 다시 적용하지 않음 -> 스냅샷에 남긴 값으로
+            userLog.snapshot(store::forEach);
+        }
+        try (UserLog userLog = open(UserLog.Durability.FSYNC)) {
+            recover(userLog);
+            assertThat(userLog.highestUserId()).isEqualTo(7);
+        }
+    }
+
+    @Test
+    void groupCommitFromManyWriters() throws Exception {
+        try (UserLog userLog = open(UserLog.Durability.GROUP)) {
+            UserStore store = recover(userLog);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                Future<?>[] futures = new Future<?>[8];
+                for (int t = 0; t < futures.length; t++) {
+                    int thread = t;
+                    futures[t] = executor.submit(() -> {
+                        for (int i = 0; i < 200; i++) {
+                            store.put(thread + "-" + i, helloData("user", i));
+                        }
+                    });
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        try (UserLog userLog = open(UserLog.Durability.GROUP)) {
+            assertThat(recover(userLog).size()).isEqualTo(1_600);
+        }
+    }
+
+    @Test
+    void directoryIsLocked() throws IOException {
+        UserLog userLog = open(UserLog.Durability.GROUP);
+        try {
+            assertThatThrownBy(() -> open(UserLog.Durability.GROUP)).isInstanceOf(IOException.class);
+        } finally {
+            userLog.close();
+        }
+    }
+
+    private UserLog open(UserLog.Durability durability) throws IOException {
+        return new UserLog(directory, SEGMENT_SIZE, durability);
+    }
+
+    private static UserStore recover(UserLog userLog) throws IOException {
+        UserStore store = new UserStore(4, 16, userLog);
+        userLog.recover(store::load);
+        return store;
+    }
+
+    private static Map<String, HelloData> users(UserStore store) {
+        Map<String, HelloData> users = new HashMap<>();
+        store.forEach(users::put);
+        return users;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (var paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static void write(Path path, int offset, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), offset);
+        }
+    }
+
+    private static HelloData helloData(String username, int age) {
+        HelloData helloData = new HelloData();
+        helloData.setUsername(username);
+        helloData.setAge(age);
+        return helloData;
+    }
+}
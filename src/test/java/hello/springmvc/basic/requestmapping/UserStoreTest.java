@@ -0,0 +1,169 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserStoreTest {
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        // 스트라이프 1개, 작은 테이블 -> 충돌, backward shift, 확장이 모두 일어남
+        UserStore store = new UserStore(1, 0);
+        Map<String, HelloData> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String userId = "user" + random.nextInt(2_000);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    HelloData helloData = helloData(random.nextBoolean() ? "이름" + i : null, i);
+                    assertThat(store.put(userId, helloData)).isEqualTo(expected.put(userId, helloData));
+                }
+                case 2 -> assertThat(store.remove(userId)).isEqualTo(expected.remove(userId));
+                default -> assertThat(store.get(userId)).isEqualTo(expected.get(userId));
+            }
+        }
+        assertThat(store.size()).isEqualTo(expected.size());
+        Map<String, HelloData> users = new HashMap<>();
+        store.forEach(users::put);
+        assertThat(users).isEqualTo(expected);
+    }
+
+    @Test
+    void pagesByAgeFollowIndexAfterChanges() {
+        UserStore store = new UserStore(4, 16);
+        Map<String, HelloData> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            String userId = "user" + random.nextInt(1_000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    store.put(userId, helloData("name", random.nextInt(50)));
+                    expected.put(userId, store.get(userId));
+                }
+                case 1 -> {
+                    int age = random.nextInt(50);
+                    store.update(userId, helloData -> {
+                        helloData.setAge(age);
+                        return helloData;
+                    });
+                    expected.computeIfPresent(userId, (key, helloData) -> helloData(helloData.getUsername(), age));
+                }
+                default -> {
+                    store.remove(userId);
+                    expected.remove(userId);
+                }
+            }
+        }
+
+        List<String> pages = new ArrayList<>();
+        AgeIndex.Key cursor = null;
+        do {
+            String token = cursor == null ? null : cursor.cursor();
+            cursor = store.forEachByAge(10, 19, token == null ? null : AgeIndex.Key.fromCursor(token), 7,
+                    (userId, helloData) -> pages.add(helloData.getAge() + "/" + userId));
+        } while (cursor != null);
+
+        List<String> sorted = expected.entrySet().stream()
+                .filter(entry -> entry.getValue().getAge() >= 10 && entry.getValue().getAge() <= 19)
+                .sorted(Comparator.comparingInt((Map.Entry<String, HelloData> entry) -> entry.getValue().getAge())
+                        .thenComparing(Map.Entry::getKey))
+                .map(entry -> entry.getValue().getAge() + "/" + entry.getKey())
+                .toList();
+        assertThat(pages).isEqualTo(sorted);
+    }
+
+    @Test
+    void pagesByAgeAcrossIndexChunks() {
+        // age 3 개에 회원이 몰림 -> 인덱스 청크가 나뉘고, 지우면서 합쳐짐
+        UserStore store = new UserStore(4, 16);
+        Map<String, HelloData> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 30_000; i++) {
+            String userId = "user" + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                store.remove(userId);
+                expected.remove(userId);
+            } else {
+                HelloData helloData = helloData("name" + i, random.nextInt(3));
+                store.put(userId, helloData);
+                expected.put(userId, helloData);
+            }
+        }
+
+        List<String> pages = new ArrayList<>();
+        AgeIndex.Key cursor = null;
+        do {
+            cursor = store.forEachByAge(0, 2, cursor, 100, (userId, helloData) -> pages.add(helloData.getAge() + "/" + userId));
+        } while (cursor != null);
+
+        List<String> sorted = expected.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, HelloData> entry) -> entry.getValue().getAge())
+                        .thenComparing(Map.Entry::getKey))
+                .map(entry -> entry.getValue().getAge() + "/" + entry.getKey())
+                .toList();
+        assertThat(pages).isEqualTo(sorted);
+    }
+
+    @Test
+    void update() {
+        UserStore store = new UserStore(4, 16);
+        assertThat(store.update("userA", helloData -> helloData)).isNull();
+        store.put("userA", helloData("userA", 20));
+        assertThat(store.update("userA", helloData -> {
+            helloData.setAge(21);
+            return helloData;
+        })).isEqualTo(helloData("userA", 21));
+        assertThat(store.get("userA")).isEqualTo(helloData("userA", 21));
+    }
+
+    @Test
+    void readersSeeCompleteValuesWhileWritersResize() throws Exception {
+        UserStore store = new UserStore(2, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < futures.length; t++) {
+                boolean writer = t % 2 == 0;
+                futures[t] = executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 200_000; i++) {
+                        int n = random.nextInt(50_000);
+                        if (writer) {
+                            store.put("user" + n, helloData("name" + n, n));
+                        } else {
+                            HelloData helloData = store.get("user" + n);
+                            if (helloData != null) {
+                                assertThat(helloData).isEqualTo(helloData("name" + n, n));
+                            }
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static HelloData helloData(String username, int age) {
+        HelloData helloData = new HelloData();
+        helloData.setUsername(username);
+        helloData.setAge(age);
+        return helloData;
+    }
+}
@@ -0,0 +1,90 @@
+package hello.springmvc.basic.response;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseCacheTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ResponseCache responseCache;
+
+    @BeforeEach
+    void clear() {
+        responseCache.clear();
+    }
+
+    @Test
+    void sameBodyFromCache() throws Exception {
+        MvcResult first = mockMvc.perform(get("/response-body-json-v1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        assertThat(responseCache.size()).isEqualTo(1);
+
+        mockMvc.perform(get("/response-body-json-v1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(content().contentType(first.getResponse().getContentType()))
+                .andExpect(content().json("{\"username\":\"userA\",\"age\":20}"));
+    }
+
+    @Test
+    void acceptVariantsShareNegotiatedEntry() throws Exception {
+        mockMvc.perform(get("/response-body-json-v1").header(HttpHeaders.ACCEPT, "application/json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept"));
+        mockMvc.perform(get("/response-body-json-v1").header(HttpHeaders.ACCEPT, "text/html;q=0.9, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept"));
+        mockMvc.perform(get("/response-body-json-v1"))
+                .andExpect(status().isOk());
+        assertThat(responseCache.size()).isEqualTo(1);
+
+        mockMvc.perform(get("/response-body-json-v1").header(HttpHeaders.ACCEPT, "image/png"))
+                .andExpect(status().isNotAcceptable());
+        assertThat(responseCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void notModified() throws Exception {
+        String etag = mockMvc.perform(get("/response-body-json-v2"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/response-body-json-v2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void eviction() {
+        ResponseCache cache = new ResponseCache(2, 1024, ResponseCache.Eviction.LRU);
+        ResponseCache.Key a = new ResponseCache.Key(null, MediaType.APPLICATION_JSON);
+        ResponseCache.Key b = new ResponseCache.Key(null, MediaType.TEXT_PLAIN);
+        ResponseCache.Key c = new ResponseCache.Key(null, MediaType.TEXT_HTML);
+        cache.put(a, new byte[10], null);
+        cache.put(b, new byte[10], null);
+        cache.get(a);
+        cache.put(c, new byte[10], null);
+
+        assertThat(cache.get(a)).isNotNull();
+        assertThat(cache.get(b)).isNull();
+        assertThat(cache.get(c)).isNotNull();
+        assertThat(cache.totalBytes()).isEqualTo(20);
+    }
+}
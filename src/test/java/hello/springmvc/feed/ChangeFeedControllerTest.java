@@ -0,0 +1,79 @@
+package hello.springmvc.feed;
+
+import hello.springmvc.warmup.SyntheticRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 톰캣으로 (MockMvc 는 논블로킹 쓰기를 지원하지 않음)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChangeFeedControllerTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ChangeFeed changeFeed;
+
+    @Test
+    void streamsCreatedHelloData() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<InputStream> stream = client.send(HttpRequest.newBuilder(uri("/changes"))
+                .header("Accept", "text/event-stream").timeout(Duration.ofSeconds(5)).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(stream.statusCode()).isEqualTo(200);
+        assertThat(stream.headers().firstValue("Content-Type")).hasValueSatisfying(
+                contentType -> assertThat(contentType).startsWith("text/event-stream"));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream.body(), StandardCharsets.UTF_8))) {
+            assertThat(reader.readLine()).isEqualTo(":");
+
+            HttpResponse<String> posted = client.send(HttpRequest.newBuilder(uri("/request-body-json-v3"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"feed\",\"age\":7}")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(posted.body()).isEqualTo("ok");
+
+            String line;
+            while ((line = reader.readLine()) != null && !line.startsWith("data: ")) {
+                if (line.startsWith("event: ")) {
+                    assertThat(line).isEqualTo("event: created");
+                }
+            }
+            assertThat(line).isEqualTo("data: {\"username\":\"feed\",\"age\":7}");
+        }
+    }
+
+    @Test
+    void syntheticRequestIsNotPublished() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long published = changeFeed.stats().published();
+
+        HttpResponse<String> posted = client.send(HttpRequest.newBuilder(uri("/request-body-json-v3"))
+                .header("Content-Type", "application/json").header(SyntheticRequest.HEADER, "true")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"warmup\",\"age\":1}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(posted.body()).isEqualTo("ok");
+        assertThat(changeFeed.stats().published()).isEqualTo(published);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,200 @@
+package hello.springmvc.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeFeedTest {
+
+    private static final long HOUR = Duration.ofHours(1).toNanos();
+
+    private ChangeFeed feed;
+
+    @AfterEach
+    void close() {
+        feed.close();
+    }
+
+    @Test
+    void fansOutEveryEventInOrder() {
+        feed = new ChangeFeed(new ObjectMapper(), 64, 2, 4, ChangeFeed.SlowConsumer.SKIP, HOUR, HOUR, 100);
+        List<MemoryChannel> channels = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            channels.add(MemoryChannel.subscribe(feed, null));
+        }
+        for (MemoryChannel channel : channels) {
+            await(() -> channel.text().equals(":\n\n"));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            feed.publish("created", helloData("user" + i, i));
+        }
+
+        for (MemoryChannel channel : channels) {
+            await(() -> channel.ids().size() == 10);
+            assertThat(channel.ids()).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+            assertThat(channel.text()).startsWith(":\n\n")
+                    .contains("id: " + feed.eventId(3) + "\nevent: created\ndata: {\"username\":\"user3\",\"age\":3}\n\n");
+        }
+        assertThat(feed.stats().delivered()).isEqualTo(30);
+    }
+
+    @Test
+    void slowSubscriberSkipsAheadWithoutBlockingPublishers() {
+        feed = new ChangeFeed(new ObjectMapper(), 16, 1, 4, ChangeFeed.SlowConsumer.SKIP, HOUR, HOUR, 100);
+        MemoryChannel slow = MemoryChannel.subscribe(feed, null);
+        slow.ready = false;
+        MemoryChannel fast = MemoryChannel.subscribe(feed, null);
+
+        for (int i = 0; i < 100; i++) {
+            feed.publish("created", helloData("user" + i, i));
+            int published = i + 1;
+            await(() -> fast.ids().size() == published);
+        }
+        assertThat(slow.ids()).isEmpty();
+
+        slow.ready = true;
+        slow.subscription.writable();
+        await(() -> slow.text().contains("event: lagged"));
+        feed.publish("created", helloData("late", 1));
+
+        await(() -> slow.ids().contains(100L) && fast.ids().size() == 101);
+        assertThat(slow.text()).contains("event: lagged\ndata: {\"missed\":");
+        assertThat(slow.ids()).containsExactly(100L);
+        assertThat(feed.stats().skipped()).isEqualTo(1);
+    }
+
+    @Test
+    void slowSubscriberIsDropped() {
+        feed = new ChangeFeed(new ObjectMapper(), 16, 1, 4, ChangeFeed.SlowConsumer.DROP, HOUR, HOUR, 100);
+        MemoryChannel slow = MemoryChannel.subscribe(feed, null);
+        await(() -> slow.text().equals(":\n\n"));
+        slow.ready = false;
+
+        for (int i = 0; i < 40; i++) {
+            feed.publish("created", helloData("user" + i, i));
+        }
+        slow.ready = true;
+        slow.subscription.writable();
+
+        await(() -> slow.closed);
+        assertThat(slow.subscription.isClosed()).isTrue();
+        assertThat(feed.stats().dropped()).isEqualTo(1);
+        assertThat(feed.stats().subscribers()).isZero();
+    }
+
+    @Test
+    void resumesAfterLastEventId() {
+        feed = new ChangeFeed(new ObjectMapper(), 64, 1, 4, ChangeFeed.SlowConsumer.SKIP, HOUR, HOUR, 100);
+        for (int i = 0; i < 5; i++) {
+            feed.publish("created", helloData("user" + i, i));
+        }
+
+        MemoryChannel resumed = MemoryChannel.subscribe(feed, feed.eventId(2));
+        MemoryChannel unknown = MemoryChannel.subscribe(feed, feed.eventId(99));
+        // 재시작 전 프로세스가 준 id
+        MemoryChannel restarted = MemoryChannel.subscribe(feed, "0-2");
+        MemoryChannel malformed = MemoryChannel.subscribe(feed, "2");
+        feed.publish("created", helloData("user5", 5));
+
+        await(() -> resumed.ids().size() == 3 && unknown.ids().size() == 1 && restarted.ids().size() == 1
+                && malformed.ids().size() == 1);
+        assertThat(resumed.ids()).containsExactly(3L, 4L, 5L);
+        assertThat(unknown.ids()).containsExactly(5L);
+        assertThat(restarted.ids()).containsExactly(5L);
+        assertThat(malformed.ids()).containsExactly(5L);
+    }
+
+    @Test
+    void stalledSubscriberIsClosedOnHeartbeat() {
+        long heartbeat = Duration.ofMillis(20).toNanos();
+        feed = new ChangeFeed(new ObjectMapper(), 16, 1, 4, ChangeFeed.SlowConsumer.SKIP, heartbeat, heartbeat, 100);
+        MemoryChannel idle = MemoryChannel.subscribe(feed, null);
+        MemoryChannel stalled = MemoryChannel.subscribe(feed, null);
+        await(() -> stalled.text().equals(":\n\n"));
+        stalled.ready = false;
+        feed.publish("created", helloData("user", 1));
+
+        await(() -> stalled.closed && idle.text().endsWith("\n\n:\n\n"));
+        assertThat(idle.closed).isFalse();
+        assertThat(feed.stats().stalled()).isEqualTo(1);
+    }
+
+    private static HelloData helloData(String username, int age) {
+        HelloData helloData = new HelloData();
+        helloData.setUsername(username);
+        helloData.setAge(age);
+        return helloData;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 받은 바이트를 모아 두는 채널, ready 가 false 면 쓰지 못함 (소켓 버퍼가 찬 클라이언트처럼)
+     */
+    private static final class MemoryChannel implements ChangeFeed.Channel {
+
+        private static final Pattern ID = Pattern.compile("^id: \\w+-(\\d+)$", Pattern.MULTILINE);
+
+        private final StringBuffer received = new StringBuffer();
+        private volatile boolean ready = true;
+        private volatile boolean closed;
+        private ChangeFeed.Subscription subscription;
+
+        static MemoryChannel subscribe(ChangeFeed feed, String lastEventId) {
+            MemoryChannel channel = new MemoryChannel();
+            channel.subscription = feed.subscribe(channel, lastEventId);
+            channel.subscription.writable();
+            return channel;
+        }
+
+        String text() {
+            return received.toString();
+        }
+
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>();
+            Matcher matcher = ID.matcher(received);
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+            return ids;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void write(byte[] bytes) {
+            received.append(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
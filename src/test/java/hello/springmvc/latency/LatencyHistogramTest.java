@@ -0,0 +1,62 @@
+package hello.springmvc.latency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketBounds() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 1_000, 123_456, 10_000_000_000L, LatencyHistogram.MAX_VALUE}) {
+            long highest = LatencyHistogram.highestValue(LatencyHistogram.bucket(value));
+            assertThat(highest).isGreaterThanOrEqualTo(value);
+            assertThat((double) highest - value).isLessThanOrEqualTo(value / 16.0 + 1);
+        }
+        assertThat(LatencyHistogram.bucket(LatencyHistogram.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(false);
+        assertThat(snapshot.getCount()).isEqualTo(1000);
+        assertThat(snapshot.getMax()).isEqualTo(1_000_000);
+        assertThat((double) snapshot.valueAt(0.5)).isCloseTo(500_000, within(500_000 / 16.0));
+        assertThat((double) snapshot.valueAt(0.99)).isCloseTo(990_000, within(990_000 / 16.0));
+        assertThat(snapshot.getMean()).isEqualTo(500_500);
+    }
+
+    @Test
+    void merge() {
+        LatencyHistogram fast = new LatencyHistogram(4);
+        LatencyHistogram slow = new LatencyHistogram(4);
+        for (int i = 0; i < 90; i++) {
+            fast.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            slow.record(1_000_000);
+        }
+
+        LatencyHistogram.Snapshot merged = fast.snapshot(false).merge(slow.snapshot(false));
+        assertThat(merged.getCount()).isEqualTo(100);
+        assertThat(merged.getMax()).isEqualTo(1_000_000);
+        assertThat(merged.getMean()).isEqualTo(100_900);
+        assertThat(merged.valueAt(0.9)).isLessThanOrEqualTo(1_000 + 1_000 / 16);
+        assertThat(merged.valueAt(0.99)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void reset() {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        histogram.record(100);
+
+        assertThat(histogram.snapshot(true).getCount()).isEqualTo(1);
+        assertThat(histogram.snapshot(false).getCount()).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package hello.springmvc.load;
+
+import hello.springmvc.admission.AdmissionFilter;
+import hello.springmvc.admission.GradientConcurrencyLimit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 과부하 테스트 (./gradlew loadTest)
+ *
+ * - 처리량이 정해진 백엔드 (동시 BACKEND_PERMITS 개, 요청당 SERVICE_TIME) 를 용량의 2배로 두드림
+ * - /overload/protected   : AdmissionFilter 가 한도를 넘는 요청을 503 으로 거름
+ * - /overload/unprotected : CRITICAL 로 지정해서 항상 받음 -> 필터가 없을 때와 같음
+ * - 보호된 쪽은 p99 가 부하 없을 때와 비슷하고 처리량은 용량 가까이 유지, 보호 안 된 쪽은 대기열이 계속 쌓임
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.hello.springmvc=warn",
+        "hello.logging.async.enabled=false",
+        "hello.warmup.enabled=false",
+        "hello.admission.enabled=true",
+        "hello.admission.window=50ms",
+        "hello.admission.priorities.critical=/overload/unprotected"
+})
+class AdmissionOverloadTest {
+
+    private static final int BACKEND_PERMITS = 2;
+    private static final Duration SERVICE_TIME = Duration.ofMillis(20);
+    private static final int CAPACITY = (int) (BACKEND_PERMITS * 1000 / SERVICE_TIME.toMillis());
+
+    private static final Duration WARMUP = Duration.ofSeconds(1);
+    private static final Duration DURATION = Duration.ofSeconds(5);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    GradientConcurrencyLimit concurrencyLimit;
+
+    @Autowired
+    AdmissionFilter admissionFilter;
+
+    @Test
+    void holdsLatencyUnderOverload() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        OpenLoadGenerator generator = new OpenLoadGenerator(client, CAPACITY * 20);
+
+        OpenLoadGenerator.Result idle = generator.run(request("/overload/protected"), CAPACITY / 4, WARMUP, DURATION);
+        OpenLoadGenerator.Result protectedResult = generator.run(request("/overload/protected"), CAPACITY * 2, WARMUP, DURATION);
+        int limit = concurrencyLimit.getLimit();
+        OpenLoadGenerator.Result unprotected = generator.run(request("/overload/unprotected"), CAPACITY * 2, WARMUP, DURATION);
+
+        System.out.printf("capacity %d req/s, limit after overload %d, rejected %d%n", CAPACITY, limit, admissionFilter.getRejected());
+        System.out.printf("%-24s %8s %8s %8s %8s %6s %6s%n", "run", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "503", "drop");
+        print("idle (25%)", idle);
+        print("protected (200%)", protectedResult);
+        print("unprotected (200%)", unprotected);
+
+        assertThat(protectedResult.throughput()).isGreaterThan(CAPACITY * 0.8);
+        assertThat(protectedResult.p99Millis()).isLessThan(Math.max(idle.p99Millis() * 5, idle.p99Millis() + 50));
+        assertThat(protectedResult.p99Millis()).isLessThan(unprotected.p99Millis() / 4);
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private static void print(String name, OpenLoadGenerator.Result result) {
+        System.out.printf("%-24s %8.1f %8.2f %8.2f %8.2f %6d %6d%n", name, result.throughput(),
+                result.p50Millis(), result.p90Millis(), result.p99Millis(), result.errors(), result.dropped());
+    }
+
+    @TestConfiguration
+    static class Backend {
+
+        @Bean
+        OverloadController overloadController() {
+            return new OverloadController();
+        }
+    }
+
+    /**
+     * 용량이 CAPACITY 로 정해진 백엔드 (공정한 세마포어 = FIFO 대기열)
+     */
+    @RestController
+    static class OverloadController {
+
+        private final Semaphore backend = new Semaphore(BACKEND_PERMITS, true);
+
+        @GetMapping({"/overload/protected", "/overload/unprotected"})
+        String work() throws InterruptedException {
+            backend.acquire();
+            try {
+                Thread.sleep(SERVICE_TIME.toMillis());
+            } finally {
+                backend.release();
+            }
+            return "ok";
+        }
+    }
+}
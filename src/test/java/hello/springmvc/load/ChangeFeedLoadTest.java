@@ -0,0 +1,228 @@
+package hello.springmvc.load;
+
+import hello.springmvc.feed.ChangeFeed;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 변경 피드 fan-out 부하 테스트 (./gradlew loadTest)
+ *
+ * - SUBSCRIBERS 개의 SSE 연결을 실제 톰캣에 열어 둠 (클라이언트는 셀렉터 스레드 하나, 서버도 연결당 스레드 없음)
+ * - POST /request-body-json-v3 로 RATE 개/초씩 EVENTS 개를 발행
+ * - 종단 간 지연 = POST 를 보내기 직전부터 각 구독자 소켓에서 그 이벤트를 읽을 때까지 (구독자 x 이벤트 전부)
+ * - 발행 요청 (POST) 자체의 지연도 같이 출력 -> 구독자 수가 늘어도 발행자는 기다리지 않는지
+ * - 구독자 수는 -PloadFeedSubscribers (기본 3000)
+ *   쉬는 연결 하나가 톰캣 요청/응답 버퍼로 힙 약 100KB 를 씀 -> 기본 테스트 힙 (512MB) 에서는 4000 개 정도까지
+ *   파일 디스크립터는 연결당 2 개 (클라이언트, 서버가 같은 프로세스)
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.hello.springmvc=warn",
+        "hello.logging.async.enabled=false",
+        "hello.warmup.enabled=false",
+        "hello.admission.enabled=false",
+        "hello.latency.enabled=false"
+})
+class ChangeFeedLoadTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("load.feed.subscribers", 3_000);
+    private static final int EVENTS = 50;
+    private static final int RATE = 10;
+    private static final byte[] MARKER = "\"username\":\"e".getBytes(StandardCharsets.US_ASCII);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ChangeFeed changeFeed;
+
+    @Test
+    void fansOutToIdleConnections() throws Exception {
+        long[] sent = new long[EVENTS];
+        long[] latencies = new long[SUBSCRIBERS * EVENTS];
+        AtomicInteger received = new AtomicInteger();
+        AtomicLong connected = new AtomicLong();
+
+        try (Selector selector = Selector.open()) {
+            List<SocketChannel> channels = new ArrayList<>();
+            byte[] request = ("GET /changes HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+                channel.write(ByteBuffer.wrap(request));
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new Connection());
+                channels.add(channel);
+            }
+
+            Thread reader = new Thread(() -> readLoop(selector, sent, latencies, received, connected), "feed-load-reader");
+            reader.start();
+            awaitUntil(() -> connected.get() == SUBSCRIBERS, Duration.ofSeconds(30));
+            int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            long[] publishNanos = new long[EVENTS];
+            long interval = 1_000_000_000L / RATE;
+            long next = System.nanoTime();
+            for (int i = 0; i < EVENTS; i++) {
+                LockSupport.parkNanos(next - System.nanoTime());
+                next += interval;
+                HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/request-body-json-v3"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"e" + i + "\",\"age\":" + i + "}")).build();
+                sent[i] = System.nanoTime();
+                HttpResponse<String> response = client.send(post, HttpResponse.BodyHandlers.ofString());
+                publishNanos[i] = System.nanoTime() - sent[i];
+                assertThat(response.statusCode()).isEqualTo(200);
+            }
+
+            boolean complete = awaitUntil(() -> received.get() == latencies.length, Duration.ofSeconds(30));
+            reader.interrupt();
+            selector.wakeup();
+            reader.join();
+            for (SocketChannel channel : channels) {
+                channel.close();
+            }
+
+            ChangeFeed.Stats stats = changeFeed.stats();
+            long[] delivered = Arrays.copyOf(latencies, received.get());
+            Arrays.sort(delivered);
+            Arrays.sort(publishNanos);
+            System.out.printf("%d subscribers, %d events at %d/s -> %d deliveries, %d threads while connected%n",
+                    SUBSCRIBERS, EVENTS, RATE, received.get(), threads);
+            System.out.printf("end-to-end latency p50 %.2f ms, p99 %.2f ms, max %.2f ms; publish (POST) p50 %.2f ms, max %.2f ms%n",
+                    millis(percentile(delivered, 0.5)), millis(percentile(delivered, 0.99)), millis(percentile(delivered, 1)),
+                    millis(percentile(publishNanos, 0.5)), millis(percentile(publishNanos, 1)));
+            System.out.printf("server: published %d, delivered %d, skipped %d, dropped %d, stalled %d%n",
+                    stats.published(), stats.delivered(), stats.skipped(), stats.dropped(), stats.stalled());
+
+            assertThat(complete).as("every subscriber received every event").isTrue();
+            assertThat(stats.skipped() + stats.dropped() + stats.stalled()).isZero();
+            // 연결마다 스레드가 있다면 SUBSCRIBERS 개 이상 (톰캣 풀은 연결을 여는 동안만 늘어남, 최대 200)
+            assertThat(threads).isLessThan(SUBSCRIBERS);
+        }
+    }
+
+    /**
+     * 모든 연결을 셀렉터 하나로 읽음, 응답 헤더 다음 첫 바이트 (":" 주석) 를 받으면 연결된 것으로
+     */
+    private static void readLoop(Selector selector, long[] sent, long[] latencies, AtomicInteger received,
+                                 AtomicLong connected) {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                selector.select(100);
+                long now = System.nanoTime();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    buffer.clear();
+                    if (((SocketChannel) key.channel()).read(buffer) < 0) {
+                        key.cancel();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    for (int i = 0; i < buffer.position(); i++) {
+                        if (connection.accept(buffer.get(i))) {
+                            connected.incrementAndGet();
+                        }
+                        int event = connection.event;
+                        if (event >= 0) {
+                            connection.event = -1;
+                            latencies[received.getAndIncrement()] = now - sent[event];
+                        }
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean awaitUntil(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(1_000_000);
+        }
+        return true;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * 읽은 바이트를 하나씩 보며 헤더 끝 (\r\n\r\n) 과 "username":"e<번호>" 를 찾음 (읽기 경계에 걸쳐도 됨)
+     */
+    private static final class Connection {
+
+        private int headerMatched;
+        private boolean headersDone;
+        private boolean connected;
+        private int markerMatched;
+        private int number = -1;
+        private int event = -1;
+
+        /**
+         * 처음 연결됐으면 true
+         */
+        boolean accept(byte b) {
+            if (!headersDone) {
+                headerMatched = b == "\r\n\r\n".charAt(headerMatched) ? headerMatched + 1 : (b == '\r' ? 1 : 0);
+                headersDone = headerMatched == 4;
+                return false;
+            }
+            if (!connected) {
+                connected = true;
+                return true;
+            }
+            if (number >= 0) {
+                if (b >= '0' && b <= '9') {
+                    number = number * 10 + (b - '0');
+                } else {
+                    event = number;
+                    number = -1;
+                }
+                return false;
+            }
+            markerMatched = b == MARKER[markerMatched] ? markerMatched + 1 : (b == MARKER[0] ? 1 : 0);
+            if (markerMatched == MARKER.length) {
+                markerMatched = 0;
+                number = 0;
+            }
+            return false;
+        }
+    }
+}
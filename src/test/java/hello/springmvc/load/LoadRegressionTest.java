@@ -0,0 +1,196 @@
+package hello.springmvc.load;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.requestmapping.UserStore;
+import hello.springmvc.warmup.SyntheticRequest;
+import hello.springmvc.warmup.SyntheticRequests;
+import hello.springmvc.warmup.WarmupProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 부하 테스트 + 성능 회귀 게이트 (./gradlew loadTest, 일반 test 태스크에서는 제외)
+ *
+ * - 실제 톰캣 (랜덤 포트) 에 basic 패키지의 모든 엔드포인트를 하나씩 OpenLoadGenerator 로 부하
+ * - 결과 키는 메서드 + 매핑 패턴 (GET_/mapping/users/{userId}) -> 경로 변수 값 (만든 회원 번호 등) 이 바뀌어도 같은 키
+ * - /mapping/users 는 부수 효과가 있어도 모두 측정
+ *  - POST 는 요청마다 회원이 하나씩 늘어남 (몇백 명, 다른 측정에 영향 없음)
+ *  - GET, PATCH 는 미리 만든 회원 하나로
+ *  - DELETE 는 같은 회원을 반복하면 404 뿐이라 요청마다 저장소에 회원을 하나 넣고 그 회원을 지움
+ * - 결과 (처리량, p50/p90/p99) 를 표로 출력하고 load.report 에 저장
+ * - load.baseline 과 비교해서 처리량이 threshold 보다 많이 떨어지거나 p99 가 threshold 보다 많이 늘면 실패
+ *  - p99 는 샘플이 적어 흔들리므로 load.p99-slack (ms) 만큼 절대 여유를 더 줌
+ *  - 회귀로 보이면 그 엔드포인트만 한 번 더 돌려서 두 번 다 넘을 때만 실패 (일시적인 GC, 스케줄링 잡음 제외)
+ *  - 베이스라인에 없는 엔드포인트도 실패 (새 엔드포인트가 게이트 없이 지나가지 않도록, -PupdateLoadBaseline 으로 추가)
+ *  - 오류 응답 (2xx, 3xx 가 아닌 응답, 연결 실패) 이 하나라도 있으면 실패
+ *  - load.update-baseline=true 이면 비교하지 않고 결과로 베이스라인을 덮어씀
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.hello.springmvc=warn",
+        "hello.logging.async.enabled=false"
+})
+class LoadRegressionTest {
+
+    private static final int RATE = Integer.getInteger("load.rate", 50);
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("load.warmup", "1s"));
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("load.duration", "3s"));
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("load.threshold", "0.2"));
+    private static final double P99_SLACK_MILLIS = Double.parseDouble(System.getProperty("load.p99-slack", "10"));
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    Environment environment;
+
+    @Autowired
+    UserStore userStore;
+
+    @Test
+    void basicEndpoints() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        OpenLoadGenerator generator = new OpenLoadGenerator(client, RATE * 10);
+        String baseUrl = "http://localhost:" + port;
+
+        // /mapping/users/{userId} 는 있는 회원이어야 200 -> 하나 만들어 두고 그 번호로, 워밍업에서 뺀 POST 도 측정
+        WarmupProperties properties = Binder.get(environment).bindOrCreate("hello.warmup", WarmupProperties.class);
+        properties.getPathVariables().put("userId", createUser(client, baseUrl));
+        properties.getExclude().remove("POST /mapping/users");
+        List<SyntheticRequest> requests = new SyntheticRequests(properties).forMappings(handlerMapping.getHandlerMethods(),
+                handlerMethod -> handlerMethod.getBeanType().getPackageName().startsWith("hello.springmvc.basic"));
+
+        Properties baseline = load(System.getProperty("load.baseline"));
+        Properties results = new Properties();
+        List<String> regressions = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        System.out.printf("%-60s %8s %8s %8s %8s %6s %6s%n", "endpoint", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "err", "drop");
+        for (SyntheticRequest request : requests) {
+            String key = request.method() + "_" + request.pattern();
+            Supplier<HttpRequest> load = requestsFor(request, baseUrl);
+            OpenLoadGenerator.Result result = generator.run(load, RATE, WARMUP, DURATION);
+            List<String> regression = compare(baseline, key, result);
+            if (!regression.isEmpty() && baseline.containsKey(key + ".p99")) {
+                result = generator.run(load, RATE, WARMUP, DURATION);
+                regression = compare(baseline, key, result);
+            }
+            regressions.addAll(regression);
+            if (result.errors() > 0) {
+                errors.add(String.format("%s %d error responses", key, result.errors()));
+            }
+            System.out.printf("%-60s %8.1f %8.2f %8.2f %8.2f %6d %6d%n", request, result.throughput(),
+                    result.p50Millis(), result.p90Millis(), result.p99Millis(), result.errors(), result.dropped());
+
+            results.setProperty(key + ".throughput", String.format("%.1f", result.throughput()));
+            results.setProperty(key + ".p99", String.format("%.2f", result.p99Millis()));
+        }
+
+        store(results, System.getProperty("load.report"));
+        assertThat(errors).as("endpoints answering with errors are not measuring real work").isEmpty();
+        if (Boolean.getBoolean("load.update-baseline")) {
+            store(results, System.getProperty("load.baseline"));
+            return;
+        }
+        assertThat(regressions).as("regressions over %.0f%% against %s", THRESHOLD * 100, System.getProperty("load.baseline"))
+                .isEmpty();
+    }
+
+    /**
+     * 보통은 같은 요청을 반복, DELETE /mapping/users/{userId} 는 요청마다 새 회원을 넣고 그 회원을 지움
+     */
+    private Supplier<HttpRequest> requestsFor(SyntheticRequest request, String baseUrl) {
+        if (!request.method().equals("DELETE") || !request.pattern().equals("/mapping/users/{userId}")) {
+            HttpRequest httpRequest = request.toHttpRequest(baseUrl);
+            return () -> httpRequest;
+        }
+        AtomicLong sequence = new AtomicLong();
+        return () -> {
+            String userId = "load-delete-" + sequence.incrementAndGet();
+            HelloData helloData = new HelloData();
+            helloData.setUsername("hello");
+            helloData.setAge(20);
+            userStore.put(userId, helloData);
+            return new SyntheticRequest(request.method(), "/mapping/users/" + userId, request.pattern(), request.headers(),
+                    request.contentType(), request.accept(), request.body()).toHttpRequest(baseUrl);
+        };
+    }
+
+    private static String createUser(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/mapping/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"hello\",\"age\":20}")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(201);
+        String location = response.headers().firstValue("Location").orElseThrow();
+        return location.substring(location.lastIndexOf('/') + 1);
+    }
+
+    private static List<String> compare(Properties baseline, String key, OpenLoadGenerator.Result result) {
+        List<String> regressions = new ArrayList<>();
+        String throughput = baseline.getProperty(key + ".throughput");
+        String p99 = baseline.getProperty(key + ".p99");
+        if (throughput == null || p99 == null) {
+            regressions.add(key + " has no baseline");
+            return regressions;
+        }
+        if (result.throughput() < Double.parseDouble(throughput) * (1 - THRESHOLD)) {
+            regressions.add(String.format("%s throughput %.1f < baseline %s", key, result.throughput(), throughput));
+        }
+        if (result.p99Millis() > Double.parseDouble(p99) * (1 + THRESHOLD) + P99_SLACK_MILLIS) {
+            regressions.add(String.format("%s p99 %.2fms > baseline %sms", key, result.p99Millis(), p99));
+        }
+        return regressions;
+    }
+
+    private static Properties load(String path) throws IOException {
+        Properties properties = new Properties();
+        if (path != null && Files.exists(Path.of(path))) {
+            try (InputStream in = Files.newInputStream(Path.of(path))) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    private static void store(Properties properties, String path) throws IOException {
+        if (path == null) {
+            return;
+        }
+        // 이름 순으로 써서 베이스라인 변경이 diff 로 잘 보이게
+        List<String> lines = new ArrayList<>();
+        lines.add("# LoadRegressionTest rate=" + RATE + "/s duration=" + DURATION);
+        new TreeMap<>(properties).forEach((key, value) -> lines.add(key + "=" + value));
+        Files.createDirectories(Path.of(path).toAbsolutePath().getParent());
+        Files.write(Path.of(path), lines);
+    }
+}
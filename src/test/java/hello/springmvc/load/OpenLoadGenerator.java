@@ -0,0 +1,96 @@
+package hello.springmvc.load;
+
+import hello.springmvc.latency.LatencyHistogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * open-model 부하 생성기 (일정한 도착률)
+ *
+ * - 응답을 기다리지 않고 1/rate 간격으로 요청을 보냄 (closed-loop 와 달리 서버가 느려져도 요청 수가 줄지 않음)
+ * - 지연 시간은 실제 보낸 시각이 아니라 보냈어야 할 시각부터 잼 -> coordinated omission 없음
+ * - 동시에 응답 대기 중인 요청이 maxOutstanding 을 넘으면 보내지 않고 dropped 로 셈
+ * - 처리량은 측정 구간 안에 끝난 성공 응답 수 (대기열이 쌓여도 보낸 만큼이 아니라 실제로 처리한 만큼)
+ * - 2xx, 3xx 가 아닌 응답은 errors (404 같은 빠른 실패를 처리한 요청으로 세지 않도록)
+ */
+class OpenLoadGenerator {
+
+    private final HttpClient client;
+    private final int maxOutstanding;
+
+    OpenLoadGenerator(HttpClient client, int maxOutstanding) {
+        this.client = client;
+        this.maxOutstanding = maxOutstanding;
+    }
+
+    Result run(HttpRequest request, int ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        return run(() -> request, ratePerSecond, warmup, duration);
+    }
+
+    /**
+     * 요청마다 requests 에서 새로 받아서 보냄 (키 분포를 흉내 낼 때)
+     */
+    Result run(Supplier<HttpRequest> requests, int ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long dropped = 0;
+        Semaphore outstanding = new Semaphore(maxOutstanding);
+
+        long interval = 1_000_000_000L / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            if (!outstanding.tryAcquire()) {
+                if (measured) {
+                    dropped++;
+                }
+                continue;
+            }
+            long scheduled = intended;
+            client.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                outstanding.release();
+                if (!measured) {
+                    return;
+                }
+                if (failure != null || response.statusCode() < 200 || response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                } else {
+                    long now = System.nanoTime();
+                    histogram.record(now - scheduled);
+                    if (now <= end) {
+                        completed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        // 남은 응답 기다림
+        outstanding.tryAcquire(maxOutstanding, 30, TimeUnit.SECONDS);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(false);
+        double seconds = duration.toNanos() / 1e9;
+        return new Result(completed.get() / seconds, millis(snapshot.valueAt(0.50)), millis(snapshot.valueAt(0.90)),
+                millis(snapshot.valueAt(0.99)), errors.get(), dropped);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    record Result(double throughput, double p50Millis, double p90Millis, double p99Millis, long errors, long dropped) {
+    }
+}
@@ -0,0 +1,147 @@
+package hello.springmvc.load;
+
+import hello.springmvc.basic.requestmapping.Order;
+import hello.springmvc.basic.requestmapping.SimulatedOrderLoader;
+import hello.springmvc.basic.requestmapping.TinyLfuCache;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 캐시 부하 테스트 (./gradlew loadTest)
+ *
+ * - ORDERS 개 주문을 Zipf (s = 1) 분포로 조회 -> 소수의 인기 주문에 요청이 몰림
+ * - 캐시는 ORDERS 의 5% 크기, 백엔드는 호출당 50ms 인 SimulatedOrderLoader 빈 (기본 로더 대신 쓰이는지도 같이 확인)
+ * - 요청 수 대비 백엔드 호출 수 (아낀 비율), 같은 키 동시 미스를 합친 수를 출력
+ * - 보낸 키 순서를 그대로 같은 크기의 LRU 에 넣어 봤을 때의 호출 수도 같이 출력 (빈도 기반 입장의 효과)
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.hello.springmvc=warn",
+        "hello.logging.async.enabled=false",
+        "hello.warmup.enabled=false",
+        "hello.admission.enabled=false",
+        "hello.order-cache.max-entries=" + OrderCacheLoadTest.CACHE_SIZE
+})
+class OrderCacheLoadTest {
+
+    static final int ORDERS = 5_000;
+    static final int CACHE_SIZE = ORDERS / 20;
+    private static final int RATE = 150;
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration DURATION = Duration.ofSeconds(5);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TinyLfuCache<Order.Key, Order> orderCache;
+
+    @Autowired
+    SimulatedOrderLoader orderLoader;
+
+    @TestConfiguration
+    static class BackendConfig {
+
+        @Bean
+        SimulatedOrderLoader orderLoader() {
+            return new SimulatedOrderLoader(Duration.ofMillis(50));
+        }
+    }
+
+    @Test
+    void savesBackendCallsUnderSkewedLoad() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        OpenLoadGenerator generator = new OpenLoadGenerator(client, RATE * 10);
+        Zipf zipf = new Zipf(ORDERS, 1.0, new Random(42));
+        List<Long> sent = new ArrayList<>();
+
+        OpenLoadGenerator.Result result = generator.run(() -> {
+            long orderId = zipf.next();
+            sent.add(orderId);
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/mapping/users/userA/orders/" + orderId))
+                    .GET().build();
+        }, RATE, WARMUP, DURATION);
+
+        TinyLfuCache.Stats stats = orderCache.stats();
+        long requests = stats.hits() + stats.misses();
+        long backendCalls = orderLoader.getCalls();
+        long lruCalls = lruMisses(sent, CACHE_SIZE);
+
+        System.out.printf("%d orders, cache %d, zipf s=1.0, %d req/s -> %.1f req/s, p50 %.2f ms, p99 %.2f ms, errors %d%n",
+                ORDERS, CACHE_SIZE, RATE, result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+        System.out.printf("requests %d, hit rate %.3f, backend calls %d (saved %.1f%%), coalesced %d (waited %d ms total)%n",
+                requests, stats.hitRate(), backendCalls, 100.0 * (requests - backendCalls) / requests,
+                stats.coalesced(), stats.coalescedWaitNanos() / 1_000_000);
+        System.out.printf("same key sequence through LRU(%d): backend calls %d (saved %.1f%%)%n",
+                CACHE_SIZE, lruCalls, 100.0 * (sent.size() - lruCalls) / sent.size());
+
+        assertThat(result.errors()).isZero();
+        assertThat(backendCalls).isEqualTo(stats.loads());
+        // 처음 보는 키는 어쩔 수 없이 미스 -> 짧은 실행에서는 이상적인 적중률보다 낮음
+        assertThat(backendCalls).isLessThan((long) (requests * 0.6));
+        assertThat(backendCalls).isLessThanOrEqualTo((long) (lruCalls * 1.1));
+    }
+
+    private static long lruMisses(List<Long> keys, int capacity) {
+        Map<Long, Boolean> lru = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+        long misses = 0;
+        for (Long key : keys) {
+            if (lru.get(key) == null) {
+                misses++;
+                lru.put(key, Boolean.TRUE);
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * 1 ~ n 을 1/k^s 에 비례하는 확률로 (누적 분포를 이진 탐색)
+     */
+    private static final class Zipf {
+
+        private final double[] cumulative;
+        private final Random random;
+
+        Zipf(int n, double s, Random random) {
+            this.cumulative = new double[n];
+            this.random = random;
+            double sum = 0;
+            for (int k = 1; k <= n; k++) {
+                sum += 1 / Math.pow(k, s);
+                cumulative[k - 1] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        long next() {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return (index >= 0 ? index : -index - 1) + 1;
+        }
+    }
+}
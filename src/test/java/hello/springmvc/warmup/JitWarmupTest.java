@@ -0,0 +1,28 @@
+package hello.springmvc.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "hello.warmup.enabled=true",
+        "hello.warmup.round-size=10",
+        "hello.warmup.max-iterations=30",
+        "hello.warmup.max-duration=20s"
+})
+class JitWarmupTest {
+
+    @Autowired
+    JitWarmup jitWarmup;
+
+    @Test
+    void requestsFromMappings() {
+        assertThat(jitWarmup.requests()).map(Object::toString)
+                .contains("GET /mapping/users/userA/orders/100?username=hello&age=20",
+                        "POST /request-body-json-v3?username=hello&age=20",
+                        "GET /mapping-param?username=hello&age=20&mode=debug")
+                .noneMatch(request -> request.contains("/latency"));
+    }
+}